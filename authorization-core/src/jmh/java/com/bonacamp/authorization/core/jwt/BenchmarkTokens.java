@@ -0,0 +1,71 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * 벤치마크/부하 테스트용 토큰 생성
+ */
+public final class BenchmarkTokens {
+
+    public static final String KEY = "67O064KY7Lqg7ZSELWNvbS1ib25hY2FtcC1hdXRob3JpemF0aW9uLWl0LXRlYW1ib25h";
+    public static final String SERVER_CODE = "SVC0";
+    public static final String REQUEST_URI = "/api/svc0/orders/1234";
+
+    private static final Key SIGNING_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(KEY));
+
+    private BenchmarkTokens() {}
+
+    /**
+     * roleCount 개의 server_role 을 가진 토큰을 만든다.
+     * 요청 URI 와 일치하는 role 은 마지막에 위치해 매칭 비용이 최대가 되도록 한다.
+     */
+    public static String createToken(String clientId, int roleCount) {
+
+        return Jwts.builder()
+                .claim("client_id", Base64.getEncoder().encodeToString(("bona-" + clientId + "-i").getBytes(StandardCharsets.UTF_8)))
+                .claim("user_role", "ROLE_USER")
+                .claim("server_role", serverRoles(roleCount))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(SIGNING_KEY)
+                .compact();
+    }
+
+    public static List<String> serverRoles(int roleCount) {
+
+        List<String> roles = new ArrayList<>(roleCount);
+
+        for(int i = roleCount - 1; i >= 0; i--) {
+            roles.add("/api/svc" + i + (i % 2 == 0 ? ".read" : ".write"));
+        }
+
+        return roles;
+    }
+
+    public static String legacySession(int serverCodeCount) {
+
+        StringBuilder session = new StringBuilder("[");
+
+        for(int i = 0; i < serverCodeCount; i++) {
+
+            if(i > 0) {
+                session.append(',');
+            }
+
+            session.append("{\"serverCode\":\"SVC").append(i).append("\"}");
+        }
+
+        return session.append(']').toString();
+    }
+
+}
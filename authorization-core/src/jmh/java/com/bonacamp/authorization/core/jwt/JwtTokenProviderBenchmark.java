@@ -0,0 +1,154 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+import com.bonacamp.authorization.core.redis.service.InMemoryRedisService;
+import com.bonacamp.authorization.core.redis.service.MethodType;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * 토큰 검증 구간별 벤치마크
+ * ./gradlew jmh -PjmhIncludes=JwtTokenProviderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int roleCount;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtParser jwtParser;
+    private HmacTokenVerifier hmacTokenVerifier;
+    private Mac mac;
+    private MockHttpServletRequest request;
+    private String authorization;
+    private String accessToken;
+    private String encodedClientId;
+    private byte[] signingInput;
+    private String serverRoleClaim;
+    private ServerRoleMatcher serverRoleMatcher;
+    private byte[] legacySession;
+    private byte[] binarySession;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkTokens.KEY));
+        InMemoryRedisService redisService = new InMemoryRedisService();
+        AuthorizationProperties properties = new AuthorizationProperties();
+        DecisionCache decisionCache = new DecisionCache(properties, null, null);
+
+        KeyRing keyRing = new KeyRing(properties);
+
+        jwtTokenProvider = new JwtTokenProvider(new JjwtTokenVerifier(keyRing), redisService, decisionCache, AuthorizationMetrics.disabled(),
+                new NegativeTokenFilter(properties), new SlidingExpiration(properties, redisService));
+        hmacTokenVerifier = new HmacTokenVerifier(keyRing);
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        mac = Mac.getInstance(key.getAlgorithm());
+        mac.init(key);
+
+        accessToken = BenchmarkTokens.createToken("benchmark", roleCount);
+        authorization = "Bearer " + accessToken;
+        encodedClientId = (String) jwtParser.parseClaimsJws(accessToken).getBody().get("client_id");
+        signingInput = accessToken.substring(0, accessToken.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+        serverRoleClaim = BenchmarkTokens.serverRoles(roleCount).toString();
+        serverRoleMatcher = ServerRoleMatcher.compile(serverRoleClaim);
+        legacySession = BenchmarkTokens.legacySession(roleCount).getBytes(StandardCharsets.UTF_8);
+
+        List<String> serverCodes = new ArrayList<>();
+
+        for(int i = 0; i < roleCount; i++) {
+            serverCodes.add("SVC" + i);
+        }
+
+        binarySession = SessionCodec.toBytes(SessionValue.of(System.currentTimeMillis(), serverCodes));
+        redisService.setValue(accessToken, BenchmarkTokens.legacySession(roleCount), Duration.ofHours(1));
+
+        request = new MockHttpServletRequest("GET", BenchmarkTokens.REQUEST_URI);
+        request.addHeader(JwtTokenProvider.AUTHORIZATION_HEADER, authorization);
+    }
+
+    @Benchmark
+    public Integer verificationToken() {
+        return jwtTokenProvider.verificationToken(request, BenchmarkTokens.SERVER_CODE);
+    }
+
+    @Benchmark
+    public String headerExtraction() {
+        return BearerTokenParser.resolve(authorization);
+    }
+
+    @Benchmark
+    public boolean clientIdValidation() {
+        return ClientIdCodec.isValid(encodedClientId);
+    }
+
+    @Benchmark
+    public byte[] signature() {
+        return mac.doFinal(signingInput);
+    }
+
+    @Benchmark
+    public Object claimParsing() {
+        return jwtParser.parseClaimsJws(accessToken).getBody();
+    }
+
+    @Benchmark
+    public Object precheck() {
+        return TokenPrecheck.check(accessToken);
+    }
+
+    @Benchmark
+    public Object hmacClaimParsing() {
+        return hmacTokenVerifier.verify(accessToken);
+    }
+
+    @Benchmark
+    public boolean legacySessionDecode() {
+        return SessionCodec.decode(legacySession).contains(BenchmarkTokens.SERVER_CODE);
+    }
+
+    @Benchmark
+    public boolean binarySessionDecode() {
+        return SessionCodec.decode(binarySession).contains(BenchmarkTokens.SERVER_CODE);
+    }
+
+    @Benchmark
+    public boolean serverRoleCompile() {
+        return ServerRoleMatcher.compile(serverRoleClaim).matches(BenchmarkTokens.REQUEST_URI, MethodType.READ);
+    }
+
+    @Benchmark
+    public boolean serverRoleMatch() {
+        return serverRoleMatcher.matches(BenchmarkTokens.REQUEST_URI, MethodType.READ);
+    }
+
+}
@@ -0,0 +1,318 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionRedisSerializer;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+import com.bonacamp.authorization.core.redis.service.InMemoryRedisService;
+import com.bonacamp.authorization.core.redis.service.LatencyRedisService;
+import com.bonacamp.authorization.core.redis.service.RedisService;
+import com.bonacamp.authorization.core.redis.service.RedisServiceImpl;
+
+/**
+ * JwtTokenProvider.verificationToken 다중 스레드 부하 테스트
+ * JMH 로는 보이지 않는 경합과 꼬리 지연을 확인하기 위한 부하 생성기이며,
+ * 결과는 처리량, 상태 코드별 건수, HdrHistogram 백분위 지연 시간으로 출력한다.
+ * 기본은 응답을 받자마자 다음 요청을 보내는 closed-loop 이고, rate 를 지정하면 고정 간격으로 요청을 보내는 open-loop 로
+ * 동작하며 지연 시간을 예정된 전송 시각부터 측정한다(밀린 요청의 대기 시간 포함, coordinated omission 방지).
+ *
+ * <pre>
+ * ./gradlew loadTest -PloadTestArgs="threads=16 tokens=50000 roles=1:0.5,10:0.4,50:0.1 hit=0.8 revoked=0.1 latency=300us jitter=200us"
+ * ./gradlew loadTest -PloadTestArgs="threads=16 rate=200000 latency=300us"
+ * </pre>
+ *
+ * 옵션 (key=value)
+ * <ul>
+ *     <li>threads : 요청 스레드 수 (기본 CPU 수)</li>
+ *     <li>rate : 전체 초당 요청 수, 지정하면 open-loop (기본 0, closed-loop)</li>
+ *     <li>duration, warmup : 측정/워밍업 시간 (기본 30s, 5s)</li>
+ *     <li>tokens : 토큰 수 (기본 10000)</li>
+ *     <li>roles : server_role 개수 분포, count:weight 목록 (기본 10:1)</li>
+ *     <li>hit : 세션이 있는 토큰 비율, revoked : 세션이 삭제된(로그아웃) 토큰 비율, 나머지는 세션이 없는 토큰 (기본 0.9, 0.05)</li>
+ *     <li>redis : memory 또는 host:port (기본 memory)</li>
+ *     <li>latency, jitter : memory 사용 시 호출마다 주입할 지연 (기본 0)</li>
+ *     <li>engine : jjwt 또는 hmac (기본 jjwt)</li>
+ *     <li>negative-cache : 네거티브 캐시 사용 여부 (기본 false)</li>
+ *     <li>sliding-expiration : 슬라이딩 만료 사용 여부 (기본 false)</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws InterruptedException {
+
+        Map<String, String> options = parse(args);
+
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Duration duration = duration(options.getOrDefault("duration", "30s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "5s"));
+        int tokenCount = Integer.parseInt(options.getOrDefault("tokens", "10000"));
+        TreeMap<Double, Integer> roleDistribution = roleDistribution(options.getOrDefault("roles", "10:1"));
+        double hitRatio = Double.parseDouble(options.getOrDefault("hit", "0.9"));
+        double revokedRatio = Double.parseDouble(options.getOrDefault("revoked", "0.05"));
+
+        if(hitRatio < 0 || revokedRatio < 0 || hitRatio + revokedRatio > 1) {
+            throw new IllegalArgumentException("hit + revoked must be between 0 and 1");
+        }
+
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getJwt().setEngine(AuthorizationProperties.Engine.valueOf(options.getOrDefault("engine", "jjwt").toUpperCase()));
+        properties.getNegativeCache().setEnabled(Boolean.parseBoolean(options.getOrDefault("negative-cache", "false")));
+        properties.getSlidingExpiration().setEnabled(Boolean.parseBoolean(options.getOrDefault("sliding-expiration", "false")));
+
+        RedisService redisService = redisService(options, properties);
+        KeyRing keyRing = new KeyRing(properties);
+        TokenVerifier tokenVerifier = properties.getJwt().getEngine() == AuthorizationProperties.Engine.HMAC
+                ? new HmacTokenVerifier(keyRing) : new JjwtTokenVerifier(keyRing);
+        SlidingExpiration slidingExpiration = new SlidingExpiration(properties, redisService);
+        slidingExpiration.start();
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(tokenVerifier, redisService, new DecisionCache(properties, null, null),
+                AuthorizationMetrics.disabled(), new NegativeTokenFilter(properties), slidingExpiration);
+
+        System.out.printf("preparing %d tokens (roles=%s, hit=%.2f, revoked=%.2f)%n", tokenCount, options.getOrDefault("roles", "10:1"), hitRatio, revokedRatio);
+
+        List<MockHttpServletRequest> requests = prepare(redisService, tokenCount, roleDistribution, hitRatio, revokedRatio);
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+
+        long start = System.nanoTime();
+        long warmupEnd = start + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        long interval = rate > 0 ? Math.max(1, (long) (threads * 1_000_000_000L / rate)) : 0;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for(int i = 0; i < threads; i++) {
+
+            long offset = interval * i / threads;
+
+            Thread worker = new Thread(() -> {
+
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long scheduled = start + offset;
+
+                try {
+                    while(true) {
+
+                        // open-loop 는 예정 시각까지 기다리고, 이미 지났으면 바로 보내며 지연은 예정 시각부터 계산한다.
+                        long now = interval > 0 ? awaitUntil(scheduled) : System.nanoTime();
+
+                        if(now >= end) {
+                            break;
+                        }
+
+                        MockHttpServletRequest request = requests.get(random.nextInt(requests.size()));
+
+                        try {
+                            Integer status = jwtTokenProvider.verificationToken(request, BenchmarkTokens.SERVER_CODE);
+                            long elapsed = System.nanoTime() - now;
+
+                            if(now >= warmupEnd) {
+                                recorder.recordValue(Math.min(elapsed, HIGHEST_TRACKABLE_NANOS));
+                                statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                            }
+                        } catch (RuntimeException e) {
+
+                            if(now >= warmupEnd) {
+                                errors.increment();
+                            }
+                        }
+
+                        scheduled += interval;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        System.out.printf("running %d threads (%s), warmup %dms, duration %dms%n", threads,
+                rate > 0 ? String.format("open-loop %.0f ops/s", rate) : "closed-loop", warmup.toMillis(), duration.toMillis());
+
+        done.await();
+
+        report(recorder.getIntervalHistogram(), statuses, errors.sum(), duration);
+    }
+
+    /**
+     * 예정 시각까지 기다린 뒤 예정 시각을 반환한다.
+     */
+    private static long awaitUntil(long scheduled) {
+
+        long remaining;
+
+        while((remaining = scheduled - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+
+        return scheduled;
+    }
+
+    private static RedisService redisService(Map<String, String> options, AuthorizationProperties properties) {
+
+        String redis = options.getOrDefault("redis", "memory");
+
+        if("memory".equals(redis)) {
+            return new LatencyRedisService(new InMemoryRedisService(),
+                    duration(options.getOrDefault("latency", "0")), duration(options.getOrDefault("jitter", "0")));
+        }
+
+        int separator = redis.lastIndexOf(':');
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.substring(0, separator), Integer.parseInt(redis.substring(separator + 1))));
+        connectionFactory.afterPropertiesSet();
+
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        RedisTemplate<String, SessionValue> sessionRedisTemplate = new RedisTemplate<>();
+        sessionRedisTemplate.setConnectionFactory(connectionFactory);
+        sessionRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        sessionRedisTemplate.setValueSerializer(new SessionRedisSerializer());
+        sessionRedisTemplate.afterPropertiesSet();
+
+        return new RedisServiceImpl(redisTemplate, sessionRedisTemplate, properties);
+    }
+
+    /**
+     * 토큰을 만들고 비율에 따라 세션을 저장한다. revoked 토큰은 세션 저장 후 삭제한다.
+     */
+    private static List<MockHttpServletRequest> prepare(RedisService redisService, int tokenCount, TreeMap<Double, Integer> roleDistribution,
+                                                        double hitRatio, double revokedRatio) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SessionValue session = SessionCodec.encode(System.currentTimeMillis(), Collections.singletonList(BenchmarkTokens.SERVER_CODE));
+        List<MockHttpServletRequest> requests = new ArrayList<>(tokenCount);
+
+        for(int i = 0; i < tokenCount; i++) {
+
+            int roleCount = roleDistribution.higherEntry(random.nextDouble() * roleDistribution.lastKey()).getValue();
+            String token = BenchmarkTokens.createToken("load" + i, roleCount);
+            double kind = random.nextDouble();
+
+            if(kind < hitRatio + revokedRatio) {
+                redisService.setSession(token, session, Duration.ofHours(1));
+            }
+
+            if(kind >= hitRatio && kind < hitRatio + revokedRatio) {
+                redisService.delete(token);
+            }
+
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", BenchmarkTokens.REQUEST_URI);
+            request.addHeader(JwtTokenProvider.AUTHORIZATION_HEADER, "Bearer " + token);
+            requests.add(request);
+        }
+
+        return requests;
+    }
+
+    private static void report(Histogram histogram, Map<Integer, LongAdder> statuses, long errors, Duration duration) {
+
+        long total = histogram.getTotalCount();
+
+        System.out.printf("%nrequests   : %d (%.1f ops/s)%n", total, total * 1_000_000_000.0 / duration.toNanos());
+
+        for(Map.Entry<Integer, LongAdder> status : new TreeMap<>(statuses).entrySet()) {
+            System.out.printf("  status %d : %d%n", status.getKey(), status.getValue().sum());
+        }
+
+        System.out.printf("  errors     : %d%n", errors);
+        System.out.println("latency (us)");
+
+        for(double percentile : new double[] {50, 90, 99, 99.9, 99.99}) {
+            System.out.printf("  p%-8s : %.1f%n", percentile, histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+
+        System.out.printf("  max       : %.1f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+
+        Map<String, String> options = new LinkedHashMap<>();
+
+        for(String arg : args) {
+
+            int separator = arg.indexOf('=');
+
+            if(separator < 0) {
+                throw new IllegalArgumentException("expected key=value : " + arg);
+            }
+
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+
+    /**
+     * count:weight 목록을 누적 가중치 -> role 개수 맵으로 변환한다.
+     */
+    private static TreeMap<Double, Integer> roleDistribution(String value) {
+
+        TreeMap<Double, Integer> distribution = new TreeMap<>();
+        double cumulative = 0;
+
+        for(String entry : value.split(",")) {
+
+            String[] pair = entry.split(":");
+            cumulative += pair.length > 1 ? Double.parseDouble(pair[1]) : 1;
+            distribution.put(cumulative, Integer.parseInt(pair[0]));
+        }
+
+        return distribution;
+    }
+
+    /**
+     * 300us, 2ms, 30s 또는 단위 없는 밀리초
+     */
+    private static Duration duration(String value) {
+
+        if(value.endsWith("us")) {
+            return Duration.ofNanos(Long.parseLong(value.substring(0, value.length() - 2)) * 1000);
+        }
+
+        if(value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+
+        if(value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+/**
+ * 벤치마크용 메모리 RedisService
+ * checkSession 은 check-session.lua 와 동일한 결과를 반환한다.
+ */
+public class InMemoryRedisService implements RedisService {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        entries.put(key, new Entry(data, expireAt(duration.toMillis())));
+    }
+
+    @Override
+    public Object getValue(String key) {
+
+        Entry entry = entry(key);
+
+        return entry == null || !(entry.value instanceof String) ? null : entry.value;
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        entries.put(key, new Entry(session, expireAt(duration.toMillis())));
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+
+        Entry entry = entry(key);
+
+        return entry == null ? null : toSession(entry.value);
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+        entries.computeIfPresent(key, (k, entry) -> new Entry(entry.value, expireAt(timeout)));
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return entry(key) != null;
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+
+        Entry entry = entry(key);
+
+        if(entry == null) {
+            return SessionStatus.NOT_FOUND;
+        }
+
+        try {
+            SessionValue session = toSession(entry.value);
+            return session != null && session.contains(serverCode) ? SessionStatus.AUTHORIZED : SessionStatus.FORBIDDEN;
+        } catch (IllegalArgumentException e) {
+            return SessionStatus.FORBIDDEN;
+        }
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<SessionStatus> statuses = new ArrayList<>(keys.size());
+
+        for(int i = 0; i < keys.size(); i++) {
+            statuses.add(checkSession(keys.get(i), serverCodes.get(i)));
+        }
+
+        return statuses;
+    }
+
+    private Entry entry(String key) {
+
+        Entry entry = entries.get(key);
+
+        if(entry != null && entry.expireAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry;
+    }
+
+    private static SessionValue toSession(Object value) {
+
+        if(value instanceof SessionValue) {
+            return (SessionValue) value;
+        }
+
+        return SessionCodec.decode(((String) value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long expireAt(long timeoutMillis) {
+        return System.currentTimeMillis() + timeoutMillis;
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expireAt;
+
+        private Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+/**
+ * 부하 테스트용 지연 주입 RedisService
+ * 호출(파이프라인 포함 1회 왕복)마다 latency + [0, jitter) 만큼 호출 스레드를 멈춘다.
+ */
+public class LatencyRedisService implements RedisService {
+
+    private final RedisService delegate;
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    public LatencyRedisService(RedisService delegate, Duration latency, Duration jitter) {
+        this.delegate = delegate;
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+    }
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        pause();
+        delegate.setValue(key, data, duration);
+    }
+
+    @Override
+    public Object getValue(String key) {
+        pause();
+        return delegate.getValue(key);
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        pause();
+        delegate.setSession(key, session, duration);
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+        pause();
+        return delegate.getSession(key);
+    }
+
+    @Override
+    public void delete(String key) {
+        pause();
+        delegate.delete(key);
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+        pause();
+        delegate.expire(key, timeout);
+    }
+
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+        pause();
+        delegate.expireAll(keys, timeout);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        pause();
+        return delegate.hasKey(key);
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+        pause();
+        return delegate.checkSession(key, serverCode);
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+        pause();
+        return delegate.checkSessions(keys, serverCodes);
+    }
+
+    private void pause() {
+
+        long nanos = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+
+        if(nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+}
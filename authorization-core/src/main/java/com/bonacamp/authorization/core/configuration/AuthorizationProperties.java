@@ -0,0 +1,250 @@
+package com.bonacamp.authorization.core.configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "authorization")
+public class AuthorizationProperties {
+
+    private final Jwt jwt = new Jwt();
+
+    private final Redis redis = new Redis();
+
+    private final SessionKey sessionKey = new SessionKey();
+
+    private final LocalStore localStore = new LocalStore();
+
+    private final Degradation degradation = new Degradation();
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final SlidingExpiration slidingExpiration = new SlidingExpiration();
+
+    private final NearCache nearCache = new NearCache();
+
+    private final DecisionCache decisionCache = new DecisionCache();
+
+    private final NegativeCache negativeCache = new NegativeCache();
+
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * JWT 서명 키 설정
+     * keys 는 kid 별 Base64 비밀 키이며, key-file 은 같은 형식(kid=secret)의 properties 파일로 변경 시 자동으로 다시 읽는다.
+     * 둘 다 없으면 기존 고정 키를 default-kid 로 사용한다.
+     */
+    @Getter
+    @Setter
+    public static class Jwt {
+
+        private String defaultKid = "default";
+
+        private Map<String, String> keys = new LinkedHashMap<>();
+
+        private String keyFile;
+
+        private Duration gracePeriod = Duration.ofHours(1);
+
+        private Engine engine = Engine.JJWT;
+    }
+
+    /**
+     * 서명 검증 엔진
+     * HMAC 은 HS256/HS384/HS512 토큰만 처리하는 전용 구현이다.
+     */
+    public enum Engine {
+        JJWT, HMAC
+    }
+
+    /**
+     * Redis 연결 설정
+     * read-from 은 Lettuce ReadFrom 이름(upstream, replicaPreferred, replica, nearest ...)이며,
+     * 복제본 읽기를 사용하면 세션 확인도 스크립트 대신 GET 으로 수행해 복제본에서 처리되도록 한다.
+     */
+    @Getter
+    @Setter
+    public static class Redis {
+
+        private String readFrom;
+
+        public boolean isReplicaRead() {
+            return readFrom != null && !"upstream".equalsIgnoreCase(readFrom) && !"master".equalsIgnoreCase(readFrom);
+        }
+    }
+
+    /**
+     * 세션 Redis 키 설정
+     * DIGEST 는 토큰 대신 prefix + 잘라낸 SHA-256(digest-length 바이트, base64url) 을 키로 사용하고,
+     * DUAL 은 DIGEST 키에 없으면 기존 토큰 키를 한 번 더 조회한다(이전 기간용).
+     */
+    @Getter
+    @Setter
+    public static class SessionKey {
+
+        private KeyMode mode = KeyMode.RAW;
+
+        private String prefix = "session:";
+
+        private int digestLength = 16;
+    }
+
+    public enum KeyMode {
+        RAW, DIGEST, DUAL
+    }
+
+    /**
+     * Redis 대신 사용하는 힙 밖 세션 저장소 설정 (단일 노드 전용)
+     * tick 은 만료된 항목을 회수하는 주기이며, 조회 결과는 tick 과 관계없이 만료 시각을 따른다.
+     */
+    @Getter
+    @Setter
+    public static class LocalStore {
+
+        private boolean enabled = false;
+
+        private DataSize maxMemory = DataSize.ofMegabytes(256);
+
+        private int segments = 16;
+
+        private Duration tick = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Redis 장애 대응 설정
+     * 호출마다 timeout 을 적용하고(0 이면 Lettuce command timeout 만 사용), 연속 failure-threshold 회 실패하면
+     * open-duration 동안 Redis 를 호출하지 않고 fallback 정책으로 세션 상태를 결정한다.
+     * LAST_KNOWN 은 last-known-ttl 안에 확인한 세션 상태를 사용하고, SIGNATURE_ONLY 는 그 상태가 없으면
+     * 회로가 열린 시점부터 signature-only-for 동안 서명 검증만으로 허용한다. 결정하지 못하면 503 을 반환한다.
+     * 회로가 닫혀 있을 때의 개별 실패는 확인한 상태가 없으면 503 이며, fallback 으로 결정한 결과는 캐시하지 않는다.
+     */
+    @Getter
+    @Setter
+    public static class Degradation {
+
+        private boolean enabled = false;
+
+        private Duration timeout = Duration.ofMillis(200);
+
+        private int maxConcurrentCalls = 64;
+
+        private int failureThreshold = 5;
+
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        private Fallback fallback = Fallback.LAST_KNOWN;
+
+        private Duration lastKnownTtl = Duration.ofMinutes(5);
+
+        private long lastKnownMaximumSize = 100_000;
+
+        private Duration signatureOnlyFor = Duration.ofMinutes(1);
+    }
+
+    public enum Fallback {
+        REJECT, LAST_KNOWN, SIGNATURE_ONLY
+    }
+
+    /**
+     * 동일 키 동시 조회 병합 설정
+     * max-wait 은 다른 스레드가 진행 중인 조회 결과를 기다리는 최대 시간이다.
+     */
+    @Getter
+    @Setter
+    public static class SingleFlight {
+
+        private boolean enabled = false;
+
+        private Duration maxWait = Duration.ofSeconds(1);
+    }
+
+    /**
+     * 세션 슬라이딩 만료 설정
+     * 허용된 요청마다 세션 만료 시간을 ttl 로 연장하며, 연장 요청은 flush-interval 또는 max-batch-size 단위로 모아서 보낸다.
+     */
+    @Getter
+    @Setter
+    public static class SlidingExpiration {
+
+        private boolean enabled = false;
+
+        private Duration ttl = Duration.ofMinutes(30);
+
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private int maxBatchSize = 1_000;
+    }
+
+    /**
+     * 세션 조회 로컬 캐시 설정
+     * ttl 은 다른 인스턴스의 로그아웃/폐기가 반영되기까지 허용하는 최대 지연 시간이다.
+     */
+    @Getter
+    @Setter
+    public static class NearCache {
+
+        private boolean enabled = false;
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofSeconds(5);
+
+        private String invalidationChannel = "authorization:session:invalidate";
+    }
+
+    /**
+     * 토큰 검증 결과 캐시 설정
+     * 캐시된 결과는 토큰 폐기(invalidate) 또는 max-ttl 경과 전까지 Redis 를 다시 조회하지 않는다.
+     */
+    @Getter
+    @Setter
+    public static class DecisionCache {
+
+        private boolean enabled = false;
+
+        private long maximumSize = 50_000;
+
+        private Duration maxTtl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 세션이 없거나 폐기된 토큰 네거티브 캐시 설정
+     * expected-insertions 는 window 당 예상 기록 수이며, fpp 는 정상 토큰이 네거티브 캐시에 걸려 404 로 거부될 확률이다.
+     * 기록 수가 expected-insertions 를 넘으면 실제 확률이 fpp 보다 커지므로 폐기/미존재 토큰 유입량에 맞춰 설정한다.
+     * grace-period 안에 발급(iat)된 토큰은 세션이 없어도 기록하지 않는다.
+     */
+    @Getter
+    @Setter
+    public static class NegativeCache {
+
+        private boolean enabled = false;
+
+        private Duration window = Duration.ofMinutes(1);
+
+        private long expectedInsertions = 100_000;
+
+        private double fpp = 0.000001;
+
+        private Duration gracePeriod = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Micrometer 메트릭 설정
+     * MeterRegistry 빈이 없으면 활성화해도 기록하지 않는다.
+     */
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        private boolean enabled = false;
+    }
+
+}
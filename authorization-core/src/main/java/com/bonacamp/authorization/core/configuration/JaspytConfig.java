@@ -3,25 +3,76 @@ package com.bonacamp.authorization.core.configuration;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.encryption.pbe.PooledPBEStringEncryptor;
 import org.jasypt.encryption.pbe.config.SimpleStringPBEConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+
+/**
+ * ENC(...), ENC2(...) 프로퍼티 복호화 설정
+ * 풀 크기는 기본적으로 CPU 수를 사용하고, 복호화 결과는 암호문별로 한 번만 계산한다.
+ * ENC(...) 는 기존 PBEWithMD5AndDES 로, ENC2(...) 는 jasypt.encryptor.algorithm(기본 PBEWITHHMACSHA512ANDAES_256)과
+ * jasypt.encryptor.key-obtention-iterations 로 복호화한다. 기존 값은 JasyptReencryptor 로 ENC2(...) 로 다시 암호화한다.
+ */
 @Configuration
 public class JaspytConfig {
+
+    static final String LEGACY_ALGORITHM = "PBEWithMD5AndDES";
+    static final String DEFAULT_ALGORITHM = "PBEWITHHMACSHA512ANDAES_256";
+    static final int DEFAULT_KEY_OBTENTION_ITERATIONS = 1000;
+
     @Value("${server.key}")
     private String key;
+
+    /**
+     * ENC(...) 복호화
+     */
     @Bean(name = "jasyptStringEncryptor")
-    public StringEncryptor stringEncryptor(@Value("${server.key}") String password) {
+    public StringEncryptor stringEncryptor(@Value("${server.key}") String password,
+                                           @Value("${jasypt.encryptor.pool-size:0}") int poolSize) {
+        return new MemoizingStringEncryptor(encryptor(password, LEGACY_ALGORITHM, poolSize, DEFAULT_KEY_OBTENTION_ITERATIONS));
+    }
+
+    /**
+     * ENC2(...) 복호화
+     */
+    @Bean(name = "jasyptStringEncryptor2")
+    public StringEncryptor stringEncryptor2(@Value("${server.key}") String password,
+                                            @Value("${jasypt.encryptor.algorithm:" + DEFAULT_ALGORITHM + "}") String algorithm,
+                                            @Value("${jasypt.encryptor.pool-size:0}") int poolSize,
+                                            @Value("${jasypt.encryptor.key-obtention-iterations:" + DEFAULT_KEY_OBTENTION_ITERATIONS + "}") int iterations) {
+        return new MemoizingStringEncryptor(encryptor(password, algorithm, poolSize, iterations));
+    }
+
+    /**
+     * jasypt-spring-boot 가 기본 resolver 대신 사용하는 resolver
+     * encryptor 들은 @Value 를 가지고 있어 resolver 생성 중에 만들 수 없으므로 처음 복호화할 때 가져온다.
+     */
+    @Bean(name = "encryptablePropertyResolver")
+    public EncryptablePropertyResolver encryptablePropertyResolver(@Lazy @Qualifier("jasyptStringEncryptor") StringEncryptor legacy,
+                                                                   @Lazy @Qualifier("jasyptStringEncryptor2") StringEncryptor encryptor) {
+        return new PrefixedPropertyResolver(legacy, encryptor);
+    }
+
+    /**
+     * @param poolSize 0 이하이면 CPU 수
+     */
+    static PooledPBEStringEncryptor encryptor(String password, String algorithm, int poolSize, int iterations) {
 
         PooledPBEStringEncryptor pooledPBEStringEncryptor = new PooledPBEStringEncryptor();
 
         SimpleStringPBEConfig simpleStringPBEConfig = new SimpleStringPBEConfig();
         simpleStringPBEConfig.setPassword(password);
-        simpleStringPBEConfig.setAlgorithm("PBEWithMD5AndDES");
-        simpleStringPBEConfig.setPoolSize(1);
+        simpleStringPBEConfig.setAlgorithm(algorithm);
+        simpleStringPBEConfig.setKeyObtentionIterations(iterations);
+        simpleStringPBEConfig.setPoolSize(poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors());
         simpleStringPBEConfig.setProviderName("SunJCE");
         simpleStringPBEConfig.setSaltGeneratorClassName("org.jasypt.salt.RandomSaltGenerator");
+        simpleStringPBEConfig.setIvGeneratorClassName(LEGACY_ALGORITHM.equalsIgnoreCase(algorithm)
+                ? "org.jasypt.iv.NoIvGenerator" : "org.jasypt.iv.RandomIvGenerator");
         simpleStringPBEConfig.setStringOutputType("base64");
         pooledPBEStringEncryptor.setConfig(simpleStringPBEConfig);
         return pooledPBEStringEncryptor;
@@ -0,0 +1,64 @@
+package com.bonacamp.authorization.core.configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jasypt.encryption.StringEncryptor;
+
+/**
+ * 설정 파일의 ENC(...) 값을 새 알고리즘의 ENC2(...) 값으로 다시 암호화하는 도구
+ * algorithm, iterations 는 애플리케이션의 jasypt.encryptor.algorithm, jasypt.encryptor.key-obtention-iterations 와 같아야 한다.
+ * 결과는 표준 출력으로 내보내며 원본 파일은 변경하지 않는다.
+ *
+ * <pre>
+ * SERVER_KEY=... ./gradlew reencryptProperties -Pfile=src/main/resources/application.yml [-Palgorithm=PBEWITHHMACSHA512ANDAES_256] [-Piterations=1000]
+ * </pre>
+ */
+public final class JasyptReencryptor {
+
+    private static final Pattern ENCRYPTED = Pattern.compile("ENC\\(([^)]*)\\)");
+
+    private JasyptReencryptor() {}
+
+    public static void main(String[] args) throws IOException {
+
+        if(args.length < 1) {
+            System.err.println("usage : JasyptReencryptor <file> [algorithm] [key-obtention-iterations]");
+            System.exit(1);
+        }
+
+        String password = System.getenv("SERVER_KEY");
+
+        if(password == null || password.isEmpty()) {
+            System.err.println("SERVER_KEY environment variable is required");
+            System.exit(1);
+        }
+
+        String targetAlgorithm = args.length > 1 ? args[1] : JaspytConfig.DEFAULT_ALGORITHM;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : JaspytConfig.DEFAULT_KEY_OBTENTION_ITERATIONS;
+
+        StringEncryptor source = JaspytConfig.encryptor(password, JaspytConfig.LEGACY_ALGORITHM, 1, JaspytConfig.DEFAULT_KEY_OBTENTION_ITERATIONS);
+        StringEncryptor target = JaspytConfig.encryptor(password, targetAlgorithm, 1, iterations);
+
+        String content = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        Matcher matcher = ENCRYPTED.matcher(content);
+        StringBuffer output = new StringBuffer();
+        int count = 0;
+
+        while(matcher.find()) {
+            String plain = source.decrypt(matcher.group(1));
+            matcher.appendReplacement(output, Matcher.quoteReplacement(PrefixedPropertyResolver.PREFIX + target.encrypt(plain) + PrefixedPropertyResolver.SUFFIX));
+            count++;
+        }
+
+        matcher.appendTail(output);
+
+        System.out.print(output);
+        System.err.printf("re-encrypted %d values with %s (%d iterations)%n", count, targetAlgorithm, iterations);
+    }
+
+}
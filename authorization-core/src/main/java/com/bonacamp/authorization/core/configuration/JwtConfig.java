@@ -0,0 +1,29 @@
+package com.bonacamp.authorization.core.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bonacamp.authorization.core.jwt.HmacTokenVerifier;
+import com.bonacamp.authorization.core.jwt.JjwtTokenVerifier;
+import com.bonacamp.authorization.core.jwt.KeyRing;
+import com.bonacamp.authorization.core.jwt.TokenVerifier;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Configuration
+public class JwtConfig {
+
+    private final AuthorizationProperties authorizationProperties;
+
+    @Bean
+    public TokenVerifier tokenVerifier(KeyRing keyRing) {
+
+        if(authorizationProperties.getJwt().getEngine() == AuthorizationProperties.Engine.HMAC) {
+            return new HmacTokenVerifier(keyRing);
+        }
+
+        return new JjwtTokenVerifier(keyRing);
+    }
+
+}
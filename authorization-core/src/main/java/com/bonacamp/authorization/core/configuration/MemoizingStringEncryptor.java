@@ -0,0 +1,31 @@
+package com.bonacamp.authorization.core.configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jasypt.encryption.StringEncryptor;
+
+/**
+ * 암호문별 복호화 결과를 기억하는 StringEncryptor
+ * 같은 ENC(...) 값을 여러 번 읽어도 키 유도(PBE)는 한 번만 수행한다.
+ */
+class MemoizingStringEncryptor implements StringEncryptor {
+
+    private final StringEncryptor delegate;
+    private final Map<String, String> decrypted = new ConcurrentHashMap<>();
+
+    MemoizingStringEncryptor(StringEncryptor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encrypt(String message) {
+        return delegate.encrypt(message);
+    }
+
+    @Override
+    public String decrypt(String encryptedMessage) {
+        return decrypted.computeIfAbsent(encryptedMessage, delegate::decrypt);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.bonacamp.authorization.core.configuration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Configuration
+public class MetricsConfig {
+
+    private final AuthorizationProperties authorizationProperties;
+
+    @Bean
+    public AuthorizationMetrics authorizationMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+
+        if(!authorizationProperties.getMetrics().isEnabled()) {
+            return AuthorizationMetrics.disabled();
+        }
+
+        return new AuthorizationMetrics(meterRegistry.getIfAvailable());
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.bonacamp.authorization.core.configuration;
+
+import org.jasypt.encryption.StringEncryptor;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+
+/**
+ * 접두어로 복호화 알고리즘을 고르는 EncryptablePropertyResolver
+ * ENC(...) 는 기존 PBEWithMD5AndDES, ENC2(...) 는 jasypt.encryptor.algorithm 으로 복호화한다.
+ * 복호화에 실패한 값을 다른 알고리즘으로 다시 시도하지 않는다(MAC 이 없는 암호는 잘못된 키로도 패딩 검사를 통과할 수 있다).
+ */
+class PrefixedPropertyResolver implements EncryptablePropertyResolver {
+
+    static final String LEGACY_PREFIX = "ENC(";
+    static final String PREFIX = "ENC2(";
+    static final String SUFFIX = ")";
+
+    private final StringEncryptor legacy;
+    private final StringEncryptor encryptor;
+
+    PrefixedPropertyResolver(StringEncryptor legacy, StringEncryptor encryptor) {
+        this.legacy = legacy;
+        this.encryptor = encryptor;
+    }
+
+    @Override
+    public String resolvePropertyValue(String value) {
+
+        if(value == null) {
+            return null;
+        }
+
+        String trimmed = value.trim();
+
+        if(!trimmed.endsWith(SUFFIX)) {
+            return value;
+        }
+
+        if(trimmed.startsWith(PREFIX)) {
+            return encryptor.decrypt(unwrap(trimmed, PREFIX));
+        }
+
+        if(trimmed.startsWith(LEGACY_PREFIX)) {
+            return legacy.decrypt(unwrap(trimmed, LEGACY_PREFIX));
+        }
+
+        return value;
+    }
+
+    private static String unwrap(String value, String prefix) {
+        return value.substring(prefix.length(), value.length() - SUFFIX.length());
+    }
+
+}
@@ -1,15 +1,24 @@
 package com.bonacamp.authorization.core.configuration;
 
+import java.util.HashSet;
+
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.bonacamp.authorization.core.redis.codec.SessionRedisSerializer;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+import io.lettuce.core.ReadFrom;
 import lombok.RequiredArgsConstructor;
 
 @EnableRedisRepositories
@@ -18,16 +27,73 @@ import lombok.RequiredArgsConstructor;
 public class RedisConfig {
 
     private final RedisProperties redisProperties;
+    private final AuthorizationProperties authorizationProperties;
 
+    /**
+     * spring.redis.sentinel / spring.redis.cluster 설정이 있으면 해당 토폴로지로, 없으면 단일 노드로 연결한다.
+     * authorization.redis.read-from 이 지정되면 읽기 명령은 해당 노드로, 쓰기 명령은 primary 로 전달된다.
+     */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
+
+        LettuceClientConfiguration clientConfiguration = lettuceClientConfiguration();
+
+        if(redisProperties.getSentinel() != null) {
+            return new LettuceConnectionFactory(redisSentinelConfiguration(), clientConfiguration);
+        }
+
+        if(redisProperties.getCluster() != null) {
+            return new LettuceConnectionFactory(redisClusterConfiguration(), clientConfiguration);
+        }
 
         RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration();
         redisStandaloneConfiguration.setHostName(redisProperties.getHost());
         redisStandaloneConfiguration.setPort(redisProperties.getPort());
         redisStandaloneConfiguration.setPassword(redisProperties.getPassword());
 
-        return new LettuceConnectionFactory(redisStandaloneConfiguration);
+        return new LettuceConnectionFactory(redisStandaloneConfiguration, clientConfiguration);
+    }
+
+    private LettuceClientConfiguration lettuceClientConfiguration() {
+
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder();
+        String readFrom = authorizationProperties.getRedis().getReadFrom();
+
+        if(readFrom != null) {
+            builder.readFrom(ReadFrom.valueOf(readFrom));
+        }
+
+        if(redisProperties.getTimeout() != null) {
+            builder.commandTimeout(redisProperties.getTimeout());
+        }
+
+        return builder.build();
+    }
+
+    private RedisSentinelConfiguration redisSentinelConfiguration() {
+
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+        RedisSentinelConfiguration redisSentinelConfiguration = new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+        redisSentinelConfiguration.setPassword(redisProperties.getPassword());
+
+        if(sentinel.getPassword() != null) {
+            redisSentinelConfiguration.setSentinelPassword(sentinel.getPassword());
+        }
+
+        return redisSentinelConfiguration;
+    }
+
+    private RedisClusterConfiguration redisClusterConfiguration() {
+
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        RedisClusterConfiguration redisClusterConfiguration = new RedisClusterConfiguration(cluster.getNodes());
+        redisClusterConfiguration.setPassword(redisProperties.getPassword());
+
+        if(cluster.getMaxRedirects() != null) {
+            redisClusterConfiguration.setMaxRedirects(cluster.getMaxRedirects());
+        }
+
+        return redisClusterConfiguration;
     }
 
     @Bean
@@ -41,4 +107,21 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    @Bean
+    public RedisTemplate<String, SessionValue> sessionRedisTemplate() {
+
+        RedisTemplate<String, SessionValue> sessionRedisTemplate = new RedisTemplate<>();
+        sessionRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        sessionRedisTemplate.setValueSerializer(new SessionRedisSerializer());
+        sessionRedisTemplate.setConnectionFactory(redisConnectionFactory());
+
+        return sessionRedisTemplate;
+    }
+
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate() {
+
+        return new ReactiveStringRedisTemplate(redisConnectionFactory());
+    }
+
 }
@@ -0,0 +1,110 @@
+package com.bonacamp.authorization.core.configuration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.service.AsyncRedisService;
+import com.bonacamp.authorization.core.redis.service.CachingRedisService;
+import com.bonacamp.authorization.core.redis.service.DegradableRedisService;
+import com.bonacamp.authorization.core.redis.service.LocalAsyncRedisService;
+import com.bonacamp.authorization.core.redis.service.LocalReactiveRedisService;
+import com.bonacamp.authorization.core.redis.service.MeteredRedisService;
+import com.bonacamp.authorization.core.redis.service.OffHeapRedisService;
+import com.bonacamp.authorization.core.redis.service.ReactiveRedisService;
+import com.bonacamp.authorization.core.redis.service.RedisService;
+import com.bonacamp.authorization.core.redis.service.RedisServiceImpl;
+import com.bonacamp.authorization.core.redis.service.SessionKeyRedisService;
+import com.bonacamp.authorization.core.redis.service.SessionKeys;
+import com.bonacamp.authorization.core.redis.service.SingleFlightRedisService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JwtTokenProvider 가 사용하는 RedisService 구성
+ * 설정에 따라 RedisServiceImpl(또는 local-store 사용 시 OffHeapRedisService) 앞에 세션 키 변환, 메트릭, 장애 대응, 동시 조회 병합, 캐시 계층을 추가한다.
+ * local-store 사용 시에는 비동기/리액티브 경로도 Redis 대신 같은 구성을 사용한다.
+ */
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AuthorizationProperties.class)
+@Configuration
+public class RedisServiceConfig {
+
+    private final AuthorizationProperties authorizationProperties;
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+
+        return container;
+    }
+
+    @ConditionalOnProperty(prefix = "authorization.local-store", name = "enabled", havingValue = "true")
+    @Bean
+    public OffHeapRedisService offHeapRedisService() {
+        return new OffHeapRedisService(authorizationProperties.getLocalStore());
+    }
+
+    @ConditionalOnProperty(prefix = "authorization.local-store", name = "enabled", havingValue = "true")
+    @Bean
+    public AsyncRedisService localAsyncRedisService(RedisService redisService) {
+        return new LocalAsyncRedisService(redisService);
+    }
+
+    @ConditionalOnProperty(prefix = "authorization.local-store", name = "enabled", havingValue = "true")
+    @Bean
+    public ReactiveRedisService localReactiveRedisService(RedisService redisService) {
+        return new LocalReactiveRedisService(redisService);
+    }
+
+    @Primary
+    @Bean
+    public RedisService redisService(RedisServiceImpl redisServiceImpl,
+                                     ObjectProvider<OffHeapRedisService> offHeapRedisService,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     AuthorizationMetrics authorizationMetrics,
+                                     SessionKeys sessionKeys) {
+
+        OffHeapRedisService localStore = offHeapRedisService.getIfAvailable();
+        RedisService redisService = localStore != null ? localStore : redisServiceImpl;
+
+        if(!sessionKeys.isRaw()) {
+            redisService = new SessionKeyRedisService(redisService, sessionKeys);
+        }
+
+        if(authorizationMetrics.isEnabled()) {
+            redisService = new MeteredRedisService(redisService, authorizationMetrics);
+        }
+
+        if(authorizationProperties.getDegradation().isEnabled()) {
+            redisService = new DegradableRedisService(redisService, authorizationProperties.getDegradation(), authorizationMetrics);
+        }
+
+        if(authorizationProperties.getSingleFlight().isEnabled()) {
+            redisService = new SingleFlightRedisService(redisService, authorizationProperties.getSingleFlight().getMaxWait());
+        }
+
+        AuthorizationProperties.NearCache nearCache = authorizationProperties.getNearCache();
+
+        if(nearCache.isEnabled()) {
+
+            CachingRedisService cachingRedisService = new CachingRedisService(redisService, redisTemplate, nearCache);
+            redisMessageListenerContainer.addMessageListener(cachingRedisService, new ChannelTopic(nearCache.getInvalidationChannel()));
+            redisService = cachingRedisService;
+        }
+
+        return redisService;
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.service.AsyncRedisService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Servlet 3 비동기 토큰 검증 필터
+ * 세션 조회가 필요한 요청은 startAsync 로 컨테이너 스레드를 반환하고, AsyncRedisService 응답이 오면 async dispatch 로
+ * 다시 들어와 요청을 계속 처리하거나 검증 결과의 상태 코드로 거부한다.
+ * 검증 결과는 RESULT_ATTRIBUTE 요청 속성으로 전달되며, 필터는 REQUEST 와 ASYNC dispatcher 에 asyncSupported 로 등록해야 한다.
+ * 세션 조회를 거친 요청은 원래 REQUEST dispatch 가 아니라 ASYNC dispatch 에서 필터 체인을 이어가므로, 이 필터 뒤의 필터는
+ * ASYNC dispatcher 에도 등록되어야 하고 OncePerRequestFilter 는 async dispatch 를 건너뛰지 않아야 한다.
+ * 그렇지 않은 필터는 검증된 요청에서 실행되지 않으므로 AsyncJwtVerificationFilterRegistrationBean 으로 등록해 시작 시 확인한다.
+ * 비동기를 지원하지 않는 요청은 JwtTokenProvider 로 동기 검증한다.
+ * 비동기 조회가 실패하면 dispatch 된 컨테이너 스레드에서 동기 경로(RedisService)로 다시 조회해 같은 fallback 정책을 적용하고,
+ * 그래도 실패하거나 async-timeout 안에 응답이 없으면 503 으로 거부한다.
+ */
+@RequiredArgsConstructor
+public class AsyncJwtVerificationFilter extends OncePerRequestFilter {
+
+    public static final String RESULT_ATTRIBUTE = AsyncJwtVerificationFilter.class.getName() + ".RESULT";
+    private static final String FALLBACK_ATTRIBUTE = AsyncJwtVerificationFilter.class.getName() + ".FALLBACK";
+    private static final Duration DEFAULT_ASYNC_TIMEOUT = Duration.ofSeconds(3);
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AsyncRedisService asyncRedisService;
+    private final AuthorizationMetrics metrics;
+    private final String serverCode;
+
+    private Duration asyncTimeout = DEFAULT_ASYNC_TIMEOUT;
+
+    public void setAsyncTimeout(Duration asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        TokenVerification fallback = (TokenVerification) request.getAttribute(FALLBACK_ATTRIBUTE);
+
+        if(fallback != null) {
+            request.removeAttribute(FALLBACK_ATTRIBUTE);
+            request.setAttribute(RESULT_ATTRIBUTE, checkSession(fallback));
+        }
+
+        VerificationResult result = (VerificationResult) request.getAttribute(RESULT_ATTRIBUTE);
+
+        if(result == null) {
+
+            if(!request.isAsyncSupported()) {
+                result = jwtTokenProvider.verify(request, serverCode);
+            }
+            else {
+
+                TokenVerification verification = jwtTokenProvider.begin(request.getHeader(JwtTokenProvider.AUTHORIZATION_HEADER),
+                        JwtTokenProvider.requestPath(request), request.getMethod(), serverCode);
+
+                if(!verification.isCompleted()) {
+                    checkSession(request, response, verification);
+                    return;
+                }
+
+                result = verification.getResult();
+                metrics.recordResult(serverCode, result.getStatus());
+                jwtTokenProvider.touch(verification.getAccessToken(), result);
+            }
+
+            request.setAttribute(RESULT_ATTRIBUTE, result);
+        }
+
+        if(!result.isAuthorized()) {
+            response.sendError(result.getStatus());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void checkSession(HttpServletRequest request, HttpServletResponse response, TokenVerification verification) {
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        AtomicBoolean completed = new AtomicBoolean();
+        long start = metrics.start();
+
+        asyncContext.setTimeout(asyncTimeout.toMillis());
+        asyncContext.addListener(new UnavailableOnTimeout(completed));
+
+        asyncRedisService.checkSession(verification.getAccessToken(), serverCode)
+                .whenComplete((sessionStatus, e) -> {
+
+                    // timeout 또는 오류로 이미 응답한 요청
+                    if(!completed.compareAndSet(false, true)) {
+                        return;
+                    }
+
+                    if(e != null) {
+                        request.setAttribute(FALLBACK_ATTRIBUTE, verification);
+                    }
+                    else {
+                        metrics.recordStage(AuthorizationMetrics.Stage.SESSION, start);
+
+                        VerificationResult result = jwtTokenProvider.complete(verification, sessionStatus);
+                        metrics.recordResult(serverCode, result.getStatus());
+                        jwtTokenProvider.touch(verification.getAccessToken(), result);
+
+                        request.setAttribute(RESULT_ATTRIBUTE, result);
+                    }
+
+                    try {
+                        asyncContext.dispatch();
+                    } catch (IllegalStateException ignored) {
+                        // 컨테이너가 이미 비동기 처리를 종료함
+                    }
+                });
+    }
+
+    /**
+     * 비동기 조회가 실패한 요청을 동기 경로로 다시 조회한다.
+     */
+    private VerificationResult checkSession(TokenVerification verification) {
+
+        VerificationResult result;
+
+        try {
+            result = jwtTokenProvider.checkSession(verification);
+        } catch (DataAccessException e) {
+            result = VerificationResult.of(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        metrics.recordResult(serverCode, result.getStatus());
+        jwtTokenProvider.touch(verification.getAccessToken(), result);
+
+        return result;
+    }
+
+    /**
+     * 세션 조회 응답 전에 timeout 또는 오류가 발생하면 503 으로 응답하고 비동기 처리를 끝낸다.
+     */
+    @RequiredArgsConstructor
+    private final class UnavailableOnTimeout implements AsyncListener {
+
+        private final AtomicBoolean completed;
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            reject(event);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            reject(event);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void reject(AsyncEvent event) throws IOException {
+
+            if(!completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            metrics.recordResult(serverCode, HttpStatus.SERVICE_UNAVAILABLE.value());
+
+            HttpServletResponse response = (HttpServletResponse) event.getAsyncContext().getResponse();
+
+            if(!response.isCommitted()) {
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+
+            event.getAsyncContext().complete();
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.web.servlet.AbstractFilterRegistrationBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * AsyncJwtVerificationFilter 등록 빈
+ * 필터를 REQUEST 와 ASYNC dispatcher 에 asyncSupported 로 등록하고, 시작 시 이 필터 뒤에 오는 필터가
+ * ASYNC dispatch 에서도 실행되는지 확인한다. 순서가 같은 필터는 뒤에 오는 것으로 본다.
+ * 세션 조회가 필요한 요청은 ASYNC dispatch 에서 필터 체인을 이어가므로, REQUEST 에만 등록된 필터나
+ * async dispatch 를 건너뛰는 OncePerRequestFilter 가 뒤에 있으면 그 필터를 거치지 않고 요청이 처리된다.
+ * 이런 필터가 있으면 IllegalStateException 으로 애플리케이션 시작을 중단한다.
+ */
+public class AsyncJwtVerificationFilterRegistrationBean extends FilterRegistrationBean<AsyncJwtVerificationFilter>
+        implements ApplicationContextAware, SmartInitializingSingleton {
+
+    private static final EnumSet<DispatcherType> REQUIRED_DISPATCHER_TYPES = EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC);
+
+    private ApplicationContext applicationContext;
+
+    public AsyncJwtVerificationFilterRegistrationBean(AsyncJwtVerificationFilter filter) {
+
+        super(filter);
+
+        super.setDispatcherTypes(REQUIRED_DISPATCHER_TYPES);
+        super.setAsyncSupported(true);
+    }
+
+    @Override
+    public void setDispatcherTypes(DispatcherType first, DispatcherType... rest) {
+        setDispatcherTypes(EnumSet.of(first, rest));
+    }
+
+    @Override
+    public void setDispatcherTypes(EnumSet<DispatcherType> dispatcherTypes) {
+
+        if(dispatcherTypes == null || !dispatcherTypes.containsAll(REQUIRED_DISPATCHER_TYPES)) {
+            throw new IllegalArgumentException("AsyncJwtVerificationFilter must be registered for REQUEST and ASYNC dispatch: " + dispatcherTypes);
+        }
+
+        super.setDispatcherTypes(dispatcherTypes);
+    }
+
+    @Override
+    public void setAsyncSupported(boolean asyncSupported) {
+
+        if(!asyncSupported) {
+            throw new IllegalArgumentException("AsyncJwtVerificationFilter must be registered with asyncSupported");
+        }
+
+        super.setAsyncSupported(true);
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        if(applicationContext == null || !isEnabled()) {
+            return;
+        }
+
+        Set<Filter> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<String> bypassed = new ArrayList<>();
+
+        // 등록 빈으로 등록된 필터
+        for(Map.Entry<String, ?> entry : applicationContext.getBeansOfType(AbstractFilterRegistrationBean.class).entrySet()) {
+
+            AbstractFilterRegistrationBean<?> registration = (AbstractFilterRegistrationBean<?>) entry.getValue();
+            Filter filter = registration.getFilter();
+
+            if(filter != null) {
+                registered.add(filter);
+            }
+
+            if(registration == this || !registration.isEnabled() || registration.getOrder() < getOrder()) {
+                continue;
+            }
+
+            if(!runsOnAsyncDispatch(filter, dispatcherTypes(registration))) {
+                bypassed.add(entry.getKey());
+            }
+        }
+
+        // 등록 빈 없이 Filter 빈으로 등록되는 필터 (Spring Boot 가 기본 dispatcher 로 등록)
+        for(Map.Entry<String, Filter> entry : applicationContext.getBeansOfType(Filter.class).entrySet()) {
+
+            Filter filter = entry.getValue();
+
+            if(registered.contains(filter) || order(filter) < getOrder()) {
+                continue;
+            }
+
+            if(!runsOnAsyncDispatch(filter, null)) {
+                bypassed.add(entry.getKey());
+            }
+        }
+
+        if(!bypassed.isEmpty()) {
+            throw new IllegalStateException("Filters ordered at or after AsyncJwtVerificationFilter do not run on the ASYNC dispatch "
+                    + "that continues async-verified requests, register them for ASYNC dispatch (and do not skip async dispatch "
+                    + "in OncePerRequestFilter) or order them before it: " + bypassed);
+        }
+    }
+
+    /**
+     * dispatcherTypes 가 null 이면 Spring Boot 기본값(OncePerRequestFilter 는 전체, 그 외는 REQUEST)을 적용한다.
+     */
+    private static boolean runsOnAsyncDispatch(Filter filter, Set<DispatcherType> dispatcherTypes) {
+
+        if(dispatcherTypes == null) {
+            dispatcherTypes = filter instanceof OncePerRequestFilter ? EnumSet.allOf(DispatcherType.class) : EnumSet.of(DispatcherType.REQUEST);
+        }
+
+        if(!dispatcherTypes.contains(DispatcherType.ASYNC)) {
+            return false;
+        }
+
+        return !(filter instanceof OncePerRequestFilter) || !skipsAsyncDispatch((OncePerRequestFilter) filter);
+    }
+
+    /**
+     * AbstractFilterRegistrationBean 은 dispatcherTypes 조회 메서드가 없으므로 필드를 읽는다.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<DispatcherType> dispatcherTypes(AbstractFilterRegistrationBean<?> registration) {
+
+        Field field = ReflectionUtils.findField(AbstractFilterRegistrationBean.class, "dispatcherTypes");
+
+        if(field == null) {
+            return null;
+        }
+
+        ReflectionUtils.makeAccessible(field);
+
+        return (Set<DispatcherType>) ReflectionUtils.getField(field, registration);
+    }
+
+    private static boolean skipsAsyncDispatch(OncePerRequestFilter filter) {
+
+        Method method = ReflectionUtils.findMethod(filter.getClass(), "shouldNotFilterAsyncDispatch");
+        ReflectionUtils.makeAccessible(method);
+
+        return Boolean.TRUE.equals(ReflectionUtils.invokeMethod(method, filter));
+    }
+
+    private static int order(Filter filter) {
+
+        if(filter instanceof Ordered) {
+            return ((Ordered) filter).getOrder();
+        }
+
+        return OrderUtils.getOrder(filter.getClass(), Ordered.LOWEST_PRECEDENCE);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.util.Arrays;
+
+/**
+ * base64url 디코더
+ * 문자열 구간을 호출자가 넘긴 버퍼에 직접 디코딩한다.
+ */
+final class Base64Url {
+
+    private static final int[] DECODE = new int[128];
+
+    static {
+
+        Arrays.fill(DECODE, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+        for(int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private Base64Url() {}
+
+    static boolean isAlphabet(char c) {
+        return c < 128 && DECODE[c] >= 0;
+    }
+
+    /**
+     * 디코딩 후 길이, 패딩 없는 base64url 이 아니면 -1
+     */
+    static int decodedLength(String value, int from, int to) {
+
+        int length = to - from;
+
+        if(length % 4 == 1) {
+            return -1;
+        }
+
+        return length * 6 / 8;
+    }
+
+    /**
+     * value[from, to) 를 target 에 디코딩한다.
+     *
+     * @return 디코딩된 바이트 수, 허용되지 않는 문자가 있거나 버퍼가 작으면 -1
+     */
+    static int decode(String value, int from, int to, byte[] target) {
+
+        int length = decodedLength(value, from, to);
+
+        if(length < 0 || length > target.length) {
+            return -1;
+        }
+
+        int accumulator = 0;
+        int bits = 0;
+        int index = 0;
+
+        for(int i = from; i < to; i++) {
+
+            char c = value.charAt(i);
+
+            if(c >= 128 || DECODE[c] < 0) {
+                return -1;
+            }
+
+            accumulator = (accumulator << 6) | DECODE[c];
+            bits += 6;
+
+            if(bits >= 8) {
+                bits -= 8;
+                target[index++] = (byte) (accumulator >> bits);
+            }
+        }
+
+        return index;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.bonacamp.authorization.core.jwt;
+
+/**
+ * Authorization 헤더 파서
+ * "Bearer " 스킴을 문자 단위로 확인하며, 토큰 문자열 외에는 객체를 생성하지 않는다.
+ */
+final class BearerTokenParser {
+
+    static final String BEARER_TYPE = "Bearer ";
+
+    private BearerTokenParser() {}
+
+    /**
+     * 헤더에서 토큰 시작 위치를 반환한다.
+     *
+     * @param header Authorization 헤더 값
+     * @return 토큰 시작 인덱스, 형식이 맞지 않거나 토큰이 비어 있으면 -1
+     */
+    static int tokenStart(String header) {
+
+        if(header == null || !header.startsWith(BEARER_TYPE)) {
+            return -1;
+        }
+
+        for(int i = BEARER_TYPE.length(); i < header.length(); i++) {
+
+            if(header.charAt(i) > ' ') {
+                return BEARER_TYPE.length();
+            }
+        }
+
+        return -1;
+    }
+
+    static String resolve(String header) {
+
+        int start = tokenStart(header);
+
+        return start < 0 ? null : header.substring(start);
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * client_id 클레임 디코더
+ * Base64 로 인코딩된 "bona-{clientId}-i" 값을 바이트 배열을 만들지 않고 스트리밍 방식으로 검증하며,
+ * clientId 문자열은 요청할 때만 생성한다.
+ */
+final class ClientIdCodec {
+
+    private static final byte[] PREFIX = "bona-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SUFFIX = "-i".getBytes(StandardCharsets.US_ASCII);
+    private static final int[] DECODE = new int[128];
+
+    static {
+
+        Arrays.fill(DECODE, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+        for(int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = i;
+        }
+
+        DECODE['+'] = 62;
+        DECODE['-'] = 62;
+        DECODE['/'] = 63;
+        DECODE['_'] = 63;
+    }
+
+    private ClientIdCodec() {}
+
+    /**
+     * "bona-" 로 시작하고 "-i" 로 끝나며 그 사이에 공백이 아닌 문자가 있는지 확인한다.
+     */
+    static boolean isValid(String encoded) {
+
+        int length = decodedLength(encoded);
+
+        if(length <= PREFIX.length + SUFFIX.length) {
+            return false;
+        }
+
+        int accumulator = 0;
+        int bits = 0;
+        int index = 0;
+        boolean hasClientId = false;
+
+        for(int i = 0; i < encoded.length() && index < length; i++) {
+
+            int value = DECODE[encoded.charAt(i)];
+
+            if(value < 0) {
+                break;
+            }
+
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+
+            if(bits >= 8) {
+
+                bits -= 8;
+                int decoded = (accumulator >> bits) & 0xFF;
+
+                if(index < PREFIX.length) {
+
+                    if(decoded != PREFIX[index]) {
+                        return false;
+                    }
+                } else if(index >= length - SUFFIX.length) {
+
+                    if(decoded != SUFFIX[index - (length - SUFFIX.length)]) {
+                        return false;
+                    }
+                } else if(decoded > ' ') {
+                    hasClientId = true;
+                }
+
+                index++;
+            }
+        }
+
+        return hasClientId;
+    }
+
+    /**
+     * clientId 부분만 디코딩한다. isValid 를 통과한 값에 대해서만 호출해야 한다.
+     */
+    static String decode(String encoded) {
+
+        int length = decodedLength(encoded);
+        byte[] clientId = new byte[length - PREFIX.length - SUFFIX.length];
+        int accumulator = 0;
+        int bits = 0;
+        int index = 0;
+
+        for(int i = 0; i < encoded.length() && index < length - SUFFIX.length; i++) {
+
+            accumulator = (accumulator << 6) | DECODE[encoded.charAt(i)];
+            bits += 6;
+
+            if(bits >= 8) {
+
+                bits -= 8;
+
+                if(index >= PREFIX.length) {
+                    clientId[index - PREFIX.length] = (byte) (accumulator >> bits);
+                }
+
+                index++;
+            }
+        }
+
+        return new String(clientId, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 디코딩 후 바이트 길이, 허용되지 않는 문자가 있으면 -1
+     */
+    private static int decodedLength(String encoded) {
+
+        if(encoded == null) {
+            return -1;
+        }
+
+        int length = encoded.length();
+
+        while(length > 0 && encoded.charAt(length - 1) == '=') {
+            length--;
+        }
+
+        if(encoded.length() - length > 2 || length % 4 == 1) {
+            return -1;
+        }
+
+        for(int i = 0; i < length; i++) {
+
+            char c = encoded.charAt(i);
+
+            if(c >= 128 || DECODE[c] < 0) {
+                return -1;
+            }
+        }
+
+        return length * 6 / 8;
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.util.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * 토큰 검증 결과 캐시
+ * (토큰 다이제스트, serverCode, read/write, route) 단위로 결과를 보관하며,
+ * 토큰별 항목은 exp 클레임과 max-ttl 중 짧은 시간 동안만 유지된다.
+ */
+@Component
+public class DecisionCache implements MessageListener {
+
+    private final boolean enabled;
+    private final long maxTtlNanos;
+    private final String invalidationChannel;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, Decisions> cache;
+
+    public DecisionCache(AuthorizationProperties authorizationProperties,
+                         RedisTemplate<String, Object> redisTemplate,
+                         RedisMessageListenerContainer redisMessageListenerContainer) {
+
+        AuthorizationProperties.DecisionCache properties = authorizationProperties.getDecisionCache();
+
+        this.enabled = properties.isEnabled();
+        this.maxTtlNanos = properties.getMaxTtl().toNanos();
+        this.invalidationChannel = authorizationProperties.getNearCache().getInvalidationChannel();
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new DecisionsExpiry())
+                .build();
+
+        if(enabled) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public VerificationResult get(String tokenDigest, String decisionKey) {
+
+        if(!enabled) {
+            return null;
+        }
+
+        Decisions decisions = cache.getIfPresent(tokenDigest);
+
+        return decisions == null ? null : decisions.results.get(decisionKey);
+    }
+
+    public void put(String tokenDigest, String decisionKey, Date expiration, VerificationResult result) {
+
+        if(!enabled) {
+            return;
+        }
+
+        long ttlNanos = maxTtlNanos;
+
+        if(expiration != null) {
+            ttlNanos = Math.min(ttlNanos, Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos());
+        }
+
+        if(ttlNanos <= 0) {
+            return;
+        }
+
+        long expiry = ttlNanos;
+        cache.get(tokenDigest, k -> new Decisions(expiry)).results.put(decisionKey, result);
+    }
+
+    /**
+     * 로그아웃 등으로 토큰이 폐기된 경우 호출한다.
+     * 다른 인스턴스의 캐시도 invalidation 채널을 통해 함께 비워지며, 채널에는 토큰 대신 캐시 키인 다이제스트를 보낸다.
+     */
+    public void invalidate(String accessToken) {
+
+        if(!enabled) {
+            return;
+        }
+
+        String tokenDigest = TokenDigest.sha256(accessToken);
+
+        cache.invalidate(tokenDigest);
+        redisTemplate.convertAndSend(invalidationChannel, tokenDigest);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    static String decisionKey(String serverCode, String method, String route) {
+        return serverCode + ' ' + method + ' ' + route;
+    }
+
+    private static final class Decisions {
+
+        private final long ttlNanos;
+        private final ConcurrentMap<String, VerificationResult> results = new ConcurrentHashMap<>();
+
+        private Decisions(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    private static final class DecisionsExpiry implements Expiry<String, Decisions> {
+
+        @Override
+        public long expireAfterCreate(String key, Decisions value, long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Decisions value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Decisions value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * HS256/HS384/HS512 전용 검증 엔진
+ * 토큰을 직접 분리하고 스레드별로 재사용하는 Mac 으로 서명을 계산해 상수 시간 비교한 뒤,
+ * 서명이 일치한 경우에만 payload 를 디코딩한다. 결과는 JjwtTokenVerifier 와 동일하며,
+ * 압축(zip) 헤더를 사용하는 토큰과 padding('=')이 붙은 토큰(RFC 7515 위반, jjwt 는 허용)은 지원하지 않는다.
+ */
+public class HmacTokenVerifier implements TokenVerifier {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+    private static final int MAX_HEADER_LENGTH = 512;
+    private static final long HEADER_CACHE_SIZE = 64;
+
+    private final KeyRing keyRing;
+    private final Cache<String, Header> headers = Caffeine.newBuilder()
+            .maximumSize(HEADER_CACHE_SIZE)
+            .build();
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    public HmacTokenVerifier(KeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public Claims verify(String token) {
+
+        if(token == null) {
+            return null;
+        }
+
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+
+        if(headerEnd <= 0 || headerEnd > MAX_HEADER_LENGTH || payloadEnd < 0
+                || token.indexOf('.', payloadEnd + 1) >= 0 || payloadEnd + 1 == token.length()) {
+            return null;
+        }
+
+        Header header = headers.get(token.substring(0, headerEnd), this::parseHeader);
+
+        if(header == null) {
+            return null;
+        }
+
+        Key key = keyRing.get(header.kid);
+
+        if(key == null || key.getEncoded().length * 8 < header.minimumKeyBits) {
+            return null;
+        }
+
+        Buffers buffer = buffers.get();
+
+        try {
+
+            if(!buffer.verifySignature(token, payloadEnd, key, header.macAlgorithm)) {
+                return null;
+            }
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+
+        Claims claims = parsePayload(token, headerEnd + 1, payloadEnd);
+
+        if(claims == null || !isValidTime(claims)) {
+            return null;
+        }
+
+        return claims;
+    }
+
+    private boolean isValidTime(Claims claims) {
+
+        Date now = new Date();
+        Date expiration = claims.getExpiration();
+        Date notBefore = claims.getNotBefore();
+
+        return (expiration == null || !now.after(expiration)) && (notBefore == null || !now.before(notBefore));
+    }
+
+    private Claims parsePayload(String token, int from, int to) {
+
+        int length = Base64Url.decodedLength(token, from, to);
+
+        if(length < 0) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+
+        if(Base64Url.decode(token, from, to, payload) != length) {
+            return null;
+        }
+
+        try {
+            return Jwts.claims(OBJECT_MAPPER.readValue(payload, MAP_TYPE));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 헤더 파싱 결과, 지원하지 않는 헤더면 null (null 은 캐시되지 않는다)
+     */
+    private Header parseHeader(String encodedHeader) {
+
+        int length = Base64Url.decodedLength(encodedHeader, 0, encodedHeader.length());
+
+        if(length < 0) {
+            return null;
+        }
+
+        byte[] decoded = new byte[length];
+
+        if(Base64Url.decode(encodedHeader, 0, encodedHeader.length(), decoded) != length) {
+            return null;
+        }
+
+        Map<String, Object> header;
+
+        try {
+            header = OBJECT_MAPPER.readValue(decoded, MAP_TYPE);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+
+        if(header.containsKey("zip")) {
+            return null;
+        }
+
+        Object alg = header.get("alg");
+        Object kid = header.get("kid");
+
+        if(kid != null && !(kid instanceof String)) {
+            return null;
+        }
+
+        if("HS256".equals(alg)) {
+            return new Header("HmacSHA256", 256, (String) kid);
+        }
+
+        if("HS384".equals(alg)) {
+            return new Header("HmacSHA384", 384, (String) kid);
+        }
+
+        if("HS512".equals(alg)) {
+            return new Header("HmacSHA512", 512, (String) kid);
+        }
+
+        return null;
+    }
+
+    private static final class Header {
+
+        private final String macAlgorithm;
+        private final int minimumKeyBits;
+        private final String kid;
+
+        private Header(String macAlgorithm, int minimumKeyBits, String kid) {
+            this.macAlgorithm = macAlgorithm;
+            this.minimumKeyBits = minimumKeyBits;
+            this.kid = kid;
+        }
+    }
+
+    /**
+     * 스레드별 재사용 버퍼와 Mac 인스턴스
+     */
+    private static final class Buffers {
+
+        private final Map<Key, Map<String, Mac>> macs = new IdentityHashMap<>();
+        private byte[] signingInput = new byte[1024];
+        private final byte[] signature = new byte[64];
+        private final byte[] expected = new byte[64];
+
+        private boolean verifySignature(String token, int signingInputLength, Key key, String macAlgorithm) throws GeneralSecurityException {
+
+            int signatureLength = Base64Url.decode(token, signingInputLength + 1, token.length(), signature);
+            Mac mac = mac(key, macAlgorithm);
+
+            if(signatureLength != mac.getMacLength()) {
+                return false;
+            }
+
+            if(signingInput.length < signingInputLength) {
+                signingInput = new byte[Math.max(signingInputLength, signingInput.length * 2)];
+            }
+
+            for(int i = 0; i < signingInputLength; i++) {
+                signingInput[i] = (byte) token.charAt(i);
+            }
+
+            mac.update(signingInput, 0, signingInputLength);
+            mac.doFinal(expected, 0);
+
+            int result = 0;
+
+            for(int i = 0; i < signatureLength; i++) {
+                result |= signature[i] ^ expected[i];
+            }
+
+            return result == 0;
+        }
+
+        private Mac mac(Key key, String macAlgorithm) throws GeneralSecurityException {
+
+            Map<String, Mac> keyMacs = macs.get(key);
+
+            if(keyMacs == null) {
+
+                // 교체된 키의 Mac 이 계속 쌓이지 않도록 일정 개수를 넘으면 비운다.
+                if(macs.size() >= 16) {
+                    macs.clear();
+                }
+
+                keyMacs = new HashMap<>();
+                macs.put(key, keyMacs);
+            }
+
+            Mac mac = keyMacs.get(macAlgorithm);
+
+            if(mac == null) {
+                mac = Mac.getInstance(macAlgorithm);
+                mac.init(key);
+                keyMacs.put(macAlgorithm, mac);
+            }
+
+            return mac;
+        }
+    }
+
+}
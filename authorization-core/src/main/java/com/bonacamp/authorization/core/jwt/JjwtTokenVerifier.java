@@ -0,0 +1,27 @@
+package com.bonacamp.authorization.core.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * jjwt 파서 기반 검증 엔진
+ */
+@RequiredArgsConstructor
+public class JjwtTokenVerifier implements TokenVerifier {
+
+    private final KeyRing keyRing;
+
+    @Override
+    public Claims verify(String token) {
+
+        try {
+            return keyRing.parser().parseClaimsJws(token).getBody();
+        }
+        catch (JwtException | IllegalArgumentException e) {
+        }
+
+        return null;
+    }
+
+}
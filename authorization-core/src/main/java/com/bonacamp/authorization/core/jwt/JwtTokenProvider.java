@@ -1,31 +1,27 @@
 package com.bonacamp.authorization.core.jwt;
 
-import java.security.Key;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
 import com.bonacamp.authorization.core.redis.service.MethodType;
 import com.bonacamp.authorization.core.redis.service.RedisService;
+import com.bonacamp.authorization.core.redis.service.SessionStatus;
 import com.bonacamp.authorization.core.util.CustomUtils;
-import com.bonacamp.authorization.core.util.StringUtils;
+import com.bonacamp.authorization.core.util.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 
 
@@ -33,183 +29,287 @@ import lombok.RequiredArgsConstructor;
 @Component
 public class JwtTokenProvider {
 
-	private static final String CLIENT_PREFIX = "bona-";
-	private static final String CLIENT_SUFFIX = "-i";
 	private static final String CLIENT_KEY = "client_id";
 	private static final String AUTHORITIES_KEY = "user_role";
 	private static final String SERVER_ROLE_KEY = "server_role";
-	private static final String AUTHORIZATION_HEADER = "Authorization";
-	private static final String BEARER_TYPE = "Bearer ";
-	private static final String KEY = "67O064KY7Lqg7ZSELWNvbS1ib25hY2FtcC1hdXRob3JpemF0aW9uLWl0LXRlYW1ib25h";
-	private static final String SERVERCODE = "serverCode";
+	static final String AUTHORIZATION_HEADER = "Authorization";
+	private static final long ROLE_MATCHER_CACHE_SIZE = 1_024;
 	
+	private final TokenVerifier tokenVerifier;
 	private final RedisService redisService;
-    private Key key; 
+	private final DecisionCache decisionCache;
+	private final AuthorizationMetrics metrics;
+	private final NegativeTokenFilter negativeTokenFilter;
+	private final SlidingExpiration slidingExpiration;
+	private final Cache<String, ServerRoleMatcher> roleMatchers = Caffeine.newBuilder()
+			.maximumSize(ROLE_MATCHER_CACHE_SIZE)
+			.build();
     
-    public Integer verificationToken(HttpServletRequest request, String serverCode) throws Exception {
+    public Integer verificationToken(HttpServletRequest request, String serverCode) {
 
-    	byte[] keyBytes = Decoders.BASE64.decode(KEY);
-        this.key = Keys.hmacShaKeyFor(keyBytes);
-        
-    	String accessToken = setBearerToken(request);
+    	return verify(request, serverCode).getStatus();
+    }
 
-    	if(CustomUtils.isNullOrEmpty(accessToken)) {
-    		return HttpStatus.BAD_REQUEST.value();
+    public VerificationResult verify(HttpServletRequest request, String serverCode) {
+
+    	return verify(request.getHeader(AUTHORIZATION_HEADER), requestPath(request), request.getMethod(), serverCode);
+    }
+
+    public VerificationResult verify(String authorization, String requestUri, String httpMethod, String serverCode) {
+
+    	TokenVerification verification = begin(authorization, requestUri, httpMethod, serverCode);
+
+    	if(!verification.isCompleted()) {
+    		verification.complete(checkSession(verification));
     	}
 
-    	if(!validateToken(accessToken)) {
-    		return HttpStatus.UNAUTHORIZED.value();
+    	metrics.recordResult(serverCode, verification.getResult().getStatus());
+    	touch(verification.getAccessToken(), verification.getResult());
+
+    	return verification.getResult();
+    }
+
+    /**
+     * 여러 요청을 한 번에 검증한다.
+     * 서명 검증은 병렬로 수행하고, 세션 조회는 하나의 파이프라인으로 처리하며, 결과는 요청 순서대로 반환한다.
+     */
+    public List<VerificationResult> verifyAll(Collection<VerificationRequest> requests) {
+
+    	List<TokenVerification> verifications = requests.parallelStream()
+    			.map(request -> beginWithToken(request.getAccessToken(), request.getRequestUri(), request.getHttpMethod(), request.getServerCode()))
+    			.collect(Collectors.toList());
+
+    	List<String> keys = new ArrayList<>();
+    	List<String> serverCodes = new ArrayList<>();
+
+    	for(TokenVerification verification : verifications) {
+
+    		if(!verification.isCompleted()) {
+    			keys.add(verification.getAccessToken());
+    			serverCodes.add(verification.getServerCode());
+    		}
     	}
-    	
-    	if(!validateRedis(accessToken)) {
-    		return HttpStatus.NOT_FOUND.value();
+
+    	long start = metrics.start();
+    	Iterator<SessionStatus> sessionStatuses = keys.isEmpty()
+    			? Collections.emptyIterator()
+    			: redisService.checkSessions(keys, serverCodes).iterator();
+    	metrics.recordStage(AuthorizationMetrics.Stage.SESSION, start);
+
+    	List<VerificationResult> results = new ArrayList<>(verifications.size());
+
+    	for(TokenVerification verification : verifications) {
+
+    		VerificationResult result = verification.isCompleted() ? verification.getResult() : complete(verification, sessionStatuses.next());
+    		metrics.recordResult(verification.getServerCode(), result.getStatus());
+    		touch(verification.getAccessToken(), result);
+    		results.add(result);
+    	}
+
+    	return results;
+    }
+
+    /**
+     * 세션 조회 전까지의 검증 단계
+     * 헤더 형식, 결과 캐시, 서명 검증 단계에서 결과가 결정되면 완료 상태로 반환한다.
+     */
+    TokenVerification begin(String authorization, String requestUri, String httpMethod, String serverCode) {
+
+    	return beginWithToken(BearerTokenParser.resolve(authorization), requestUri, httpMethod, serverCode);
+    }
+
+    TokenVerification beginWithToken(String accessToken, String requestUri, String httpMethod, String serverCode) {
+
+    	String route = normalizeRoute(requestUri);
+    	MethodType method = "GET".equals(httpMethod) ? MethodType.READ : MethodType.WRITE;
+    	TokenVerification verification = new TokenVerification(accessToken, serverCode, route, method);
+
+    	if(CustomUtils.isNullOrEmpty(accessToken)) {
+    		return verification.complete(VerificationResult.of(HttpStatus.BAD_REQUEST));
     	}
 
-    	if(!authorizationServer(accessToken, serverCode)) {
-    		return HttpStatus.FORBIDDEN.value();
+    	if(decisionCache.isEnabled()) {
+
+    		String tokenDigest = TokenDigest.sha256(accessToken);
+    		String decisionKey = DecisionCache.decisionKey(serverCode, method.name(), route);
+    		VerificationResult cached = decisionCache.get(tokenDigest, decisionKey);
+
+    		if(cached != null) {
+    			return verification.complete(cached);
+    		}
+
+    		verification.cacheKey(tokenDigest, decisionKey);
     	}
 
-    	Claims claims = parseClaims(accessToken);
-    	Object rid = claims.get(AUTHORITIES_KEY);
-        String cid = new String(Decoders.BASE64.decode(claims.get(CLIENT_KEY).toString()));
-        String clientId = cid.substring(5);
-        clientId = clientId.substring(0, clientId.length()-2);
-       
-    	if(CustomUtils.isNullOrEmpty(rid) || CustomUtils.isNullOrEmpty(cid) || CustomUtils.isNullOrEmpty(clientId)) {
-    		return HttpStatus.UNAUTHORIZED.value();
+    	if(TokenPrecheck.check(accessToken) != TokenPrecheck.Result.VALID) {
+    		return verification.complete(VerificationResult.of(HttpStatus.UNAUTHORIZED));
     	}
-    	
-    	if (!cid.substring(0,5).equals(CLIENT_PREFIX) || !cid.substring(cid.length()-2, cid.length()).equals(CLIENT_SUFFIX)) {
-    		return HttpStatus.UNAUTHORIZED.value();
-        }
-    	
-    	String serverRoles = claims.get(SERVER_ROLE_KEY).toString().replace("[", "").replace("]", "");
 
-    	if(CustomUtils.isNullOrEmpty(serverRoles)) {
-    		return HttpStatus.FORBIDDEN.value();
+    	// 세션이 없거나 폐기된 것으로 기록된 토큰은 서명 검증과 세션 조회 없이 거부한다.
+    	if(negativeTokenFilter.mightContain(accessToken)) {
+    		return verification.complete(VerificationResult.of(HttpStatus.NOT_FOUND));
     	}
-    	
-    	String url = request.getRequestURI();
-    	String method = request.getMethod().equals("GET") ? "read" : "write";
-  
-    	if(serverRoles.contains(",")) {
-    		
-    		String[] datas = serverRoles.split(",");
-    		
-    		for(String role : datas) {
-
-    			if(checkServerRole(role, url, method)) {
-    				return HttpStatus.OK.value();
-    			}
-        	}
-    		return HttpStatus.FORBIDDEN.value();
-    		
-    	}else {
-    		
-    		if(checkServerRole(serverRoles, url, method)) {
-				return HttpStatus.OK.value();
-			}
-			return HttpStatus.FORBIDDEN.value();
-			
+
+    	long start = metrics.start();
+    	Claims claims = parseClaims(accessToken);
+    	metrics.recordStage(AuthorizationMetrics.Stage.SIGNATURE, start);
+
+    	if(claims == null) {
+    		return verification.complete(VerificationResult.of(HttpStatus.UNAUTHORIZED));
     	}
-    }
-    
-    private Boolean checkServerRole(String role, String url, String method) {
-    	
-    	role = role.trim();
-    	String roleId = getRoleId(role);
-    	MethodType.of(roleId).getValue().toLowerCase();
 
-    	return url.contains(role.substring(0, role.indexOf("."))) && method.equals(roleId);
-    	
+    	verification.claims(claims);
+
+    	return verification;
     }
-    
-    private String getRoleId(String role) {
-    	
-    	return role.substring(role.indexOf(".") + 1, role.length());
-    	
+
+    /**
+     * 세션을 조회해 남은 검증 단계를 수행한다.
+     */
+    VerificationResult checkSession(TokenVerification verification) {
+
+    	long start = metrics.start();
+    	SessionStatus sessionStatus = redisService.checkSession(verification.getAccessToken(), verification.getServerCode());
+    	metrics.recordStage(AuthorizationMetrics.Stage.SESSION, start);
+
+    	return complete(verification, sessionStatus);
     }
-    
 
-	private String setBearerToken(HttpServletRequest request) {
+    /**
+     * 세션 조회 결과를 받아 남은 검증 단계를 수행한다.
+     */
+    VerificationResult complete(TokenVerification verification, SessionStatus sessionStatus) {
 
-    	String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
+    	if(sessionStatus == SessionStatus.UNAVAILABLE) {
+    		return VerificationResult.of(HttpStatus.SERVICE_UNAVAILABLE);
+    	}
 
-	    if (!CustomUtils.isNullOrEmpty(bearerToken) && bearerToken.startsWith(BEARER_TYPE)) {
-	      return bearerToken.substring(BEARER_TYPE.length());
-	    }
+    	if(sessionStatus.origin() == SessionStatus.NOT_FOUND) {
 
-	    return null;
-    }
-    
-    private boolean validateToken(String token) {
-
-        try {
-        	Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        }
-        catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-        }
-        catch (ExpiredJwtException e) {
-        }
-        catch (UnsupportedJwtException e) {
-        }
-        catch (IllegalArgumentException e) {
-        }
-        catch (JwtException e) {
-        }
-
-        return false;
+    		if(sessionStatus.isResolved()) {
+    			negativeTokenFilter.put(verification.getAccessToken(), verification.getClaims().getIssuedAt());
+    		}
+
+    		return VerificationResult.of(HttpStatus.NOT_FOUND);
+    	}
+
+    	Claims claims = verification.getClaims();
+    	VerificationResult result = VerificationResult.of(HttpStatus.FORBIDDEN);
+
+    	if(sessionStatus.origin() == SessionStatus.AUTHORIZED) {
+
+    		long start = metrics.start();
+    		result = authorizeClaims(claims, verification.getServerCode(), verification.getRoute(), verification.getMethod());
+    		metrics.recordStage(AuthorizationMetrics.Stage.ROLE, start);
+    	}
+
+    	// fallback 으로 결정한 결과는 Redis 가 복구되면 바로 다시 확인해야 하므로 캐시하지 않는다.
+    	if(verification.getTokenDigest() != null && sessionStatus.isResolved()) {
+    		decisionCache.put(verification.getTokenDigest(), verification.getDecisionKey(), claims.getExpiration(), result);
+    	}
+
+    	return result;
     }
-    
-    private boolean validateRedis(String accessToken) {
 
-    	if(CustomUtils.isNullOrEmpty(redisService.getValue(accessToken))) {
-    		return false;
+    /**
+     * 허용된 요청의 세션 만료 시간 연장을 예약한다.
+     */
+    void touch(String accessToken, VerificationResult result) {
+
+    	if(result.isAuthorized()) {
+    		slidingExpiration.touch(accessToken);
     	}
-    	
-    	return true;
-    
     }
-    
-    private boolean authorizationServer(String accessToken, String serverCode) throws Exception {
 
-    	List<String> serverCodes = getServerCode(redisService.getValue(accessToken));
+    /**
+     * 로그아웃 등으로 토큰을 폐기한다.
+     * 네거티브 캐시에 기록해 이 인스턴스에서 바로 거부하고, 검증 결과 캐시를 비운 뒤 세션을 삭제해 다른 인스턴스에서도 거부되게 한다.
+     */
+    public void invalidate(String accessToken) {
+
+    	negativeTokenFilter.put(accessToken);
+    	decisionCache.invalidate(accessToken);
+    	redisService.delete(accessToken);
+    }
+
+    private VerificationResult authorizeClaims(Claims claims, String serverCode, String url, MethodType method) {
+
+    	Object rid = claims.get(AUTHORITIES_KEY);
+    	Object encodedCid = claims.get(CLIENT_KEY);
 
-    	if(CustomUtils.isNullOrEmpty(serverCodes.contains(serverCode))) {
-    		return false;
+    	if(CustomUtils.isNullOrEmpty(rid) || !(encodedCid instanceof String) || !ClientIdCodec.isValid((String) encodedCid)) {
+    		return VerificationResult.of(HttpStatus.UNAUTHORIZED);
     	}
     	
-    	return true;
+    	Object serverRoleClaim = claims.get(SERVER_ROLE_KEY);
+
+    	if(CustomUtils.isNullOrEmpty(serverRoleClaim)) {
+    		return VerificationResult.of(HttpStatus.FORBIDDEN);
+    	}
+
+    	ServerRoleMatcher matcher = roleMatchers.get(serverRoleClaim.toString(), ServerRoleMatcher::compile);
+
+    	if(matcher.isEmpty() || !matcher.matches(url, method)) {
+    		return VerificationResult.of(HttpStatus.FORBIDDEN);
+    	}
+
+    	return VerificationResult.builder()
+    			.status(HttpStatus.OK.value())
+    			.encodedClientId((String) encodedCid)
+    			.userRole(rid.toString())
+    			.serverCode(serverCode)
+    			.serverRoles(matcher.getRoles())
+    			.expiration(claims.getExpiration())
+    			.build();
     }
-    
-    private List<String> getServerCode(Object objAccessToken) throws Exception {
-		
-    	List<String> serverCodes = new ArrayList<>();
-    	
-    	List<Object> objectLists = Arrays.asList(new JSONParser().parse(StringUtils.writeValueAsString(objAccessToken))); 
 
-    	JSONParser jsonParse = new JSONParser();
-    	JSONArray jsonArray = (JSONArray)jsonParse.parse((String) objectLists.get(0)); 
+	/**
+	 * context path 를 제외한 요청 경로를 반환한다.
+	 * server_role 은 애플리케이션 기준 경로로 매칭하므로 context path 아래에 배포되어도 같은 role 을 사용한다.
+	 */
+	static String requestPath(HttpServletRequest request) {
 
-    	for (int i = 0; i < jsonArray.size(); ++i) {
-    	    JSONObject jsonObject = (JSONObject) jsonArray.get(i);   
-    	    String serverCode = (String) jsonObject.get(SERVERCODE);
-    	    serverCodes.add(serverCode);
-    	    }
+		String uri = request.getRequestURI();
+		String contextPath = request.getContextPath();
 
-		return serverCodes;
+		if(uri == null || contextPath == null || contextPath.isEmpty() || !uri.startsWith(contextPath)) {
+			return uri;
+		}
+
+		return uri.length() == contextPath.length() ? "/" : uri.substring(contextPath.length());
 	}
-    
-    private Claims parseClaims(String token) {
 
-        try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        }
-        catch (ExpiredJwtException e) {
-            return e.getClaims();
-        }
+	/**
+	 * 중복 '/' 와 마지막 '/' 를 제거한 route 를 반환한다.
+	 */
+	private String normalizeRoute(String uri) {
+
+		if(uri == null || (uri.indexOf("//") < 0 && (uri.length() <= 1 || !uri.endsWith("/")))) {
+			return uri;
+		}
+
+		StringBuilder route = new StringBuilder(uri.length());
+
+		for(int i = 0; i < uri.length(); i++) {
+
+			char c = uri.charAt(i);
+
+			if(c == '/' && route.length() > 0 && route.charAt(route.length() - 1) == '/') {
+				continue;
+			}
+
+			route.append(c);
+		}
+
+		if(route.length() > 1 && route.charAt(route.length() - 1) == '/') {
+			route.setLength(route.length() - 1);
+		}
+
+		return route.toString();
+	}
+
+    private Claims parseClaims(String token) {
+        return tokenVerifier.verify(token);
     }
 
 }
- 
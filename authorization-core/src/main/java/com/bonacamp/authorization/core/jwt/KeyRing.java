@@ -0,0 +1,251 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.Key;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT 서명 키 목록
+ * 키는 kid 헤더로 조회하며(kid 가 없으면 default-kid), 설정 또는 key-file 변경 시 재시작 없이 다시 읽는다.
+ * key-file 이 심볼릭 링크(Kubernetes Secret/ConfigMap 마운트 등)이면 링크 대상이 바뀔 때도 다시 읽는다.
+ * 목록에서 빠진 키는 grace-period 동안 검증에 계속 사용된다.
+ */
+@Slf4j
+@Component
+public class KeyRing extends SigningKeyResolverAdapter {
+
+    private static final String LEGACY_KEY = "67O064KY7Lqg7ZSELWNvbS1ib25hY2FtcC1hdXRob3JpemF0aW9uLWl0LXRlYW1ib25h";
+
+    private final AuthorizationProperties.Jwt properties;
+    private final JwtParser jwtParser;
+
+    private volatile Map<String, KeyEntry> entries = Collections.emptyMap();
+    private WatchService watchService;
+
+    public KeyRing(AuthorizationProperties authorizationProperties) {
+
+        this.properties = authorizationProperties.getJwt();
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(this).build();
+
+        reload();
+    }
+
+    /**
+     * 키 목록을 사용하는 파서 (thread-safe)
+     */
+    public JwtParser parser() {
+        return jwtParser;
+    }
+
+    public Key get(String kid) {
+
+        KeyEntry entry = entries.get(kid == null ? properties.getDefaultKid() : kid);
+
+        if(entry == null || entry.retireAt < System.currentTimeMillis()) {
+            return null;
+        }
+
+        return entry.key;
+    }
+
+    /**
+     * jjwt 0.11 의 SigningKeyResolver 가 raw JwsHeader 로 선언되어 있어 JwsHeader<?> 로는 재정의할 수 없다.
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+
+        Key key = get(header.getKeyId());
+
+        if(key == null) {
+            throw new UnsupportedJwtException("unknown kid : " + header.getKeyId());
+        }
+
+        return key;
+    }
+
+    /**
+     * 설정과 key-file 에서 키를 다시 읽는다.
+     * 읽기에 실패하면 기존 키 목록을 유지한다.
+     */
+    public synchronized void reload() {
+
+        Map<String, Key> loaded;
+
+        try {
+            loaded = loadKeys();
+        } catch (IOException | RuntimeException e) {
+            log.warn("failed to load jwt keys, keeping {} existing keys", entries.size(), e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, KeyEntry> next = new HashMap<>();
+
+        for(Map.Entry<String, Key> key : loaded.entrySet()) {
+            next.put(key.getKey(), new KeyEntry(key.getValue(), Long.MAX_VALUE));
+        }
+
+        for(Map.Entry<String, KeyEntry> previous : entries.entrySet()) {
+
+            if(next.containsKey(previous.getKey())) {
+                continue;
+            }
+
+            KeyEntry entry = previous.getValue();
+            long retireAt = entry.retireAt == Long.MAX_VALUE ? now + properties.getGracePeriod().toMillis() : entry.retireAt;
+
+            if(retireAt > now) {
+                next.put(previous.getKey(), new KeyEntry(entry.key, retireAt));
+            }
+        }
+
+        entries = Collections.unmodifiableMap(next);
+    }
+
+    @PostConstruct
+    public void watch() throws IOException {
+
+        if(properties.getKeyFile() == null) {
+            return;
+        }
+
+        Path keyFile = Paths.get(properties.getKeyFile()).toAbsolutePath();
+        watchService = FileSystems.getDefault().newWatchService();
+        keyFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        Path realPath = realPath(keyFile);
+        Thread watcher = new Thread(() -> watchKeyFile(keyFile, realPath), "jwt-key-ring-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+
+        if(watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * key-file 이 바뀌거나, key-file 이 가리키는 실제 파일이 바뀌면 다시 읽는다.
+     * Kubernetes Secret/ConfigMap 은 key-file 자체가 아니라 ..data 심볼릭 링크를 교체하므로 실제 경로를 비교한다.
+     */
+    private void watchKeyFile(Path keyFile, Path realPath) {
+
+        try {
+
+            while(true) {
+
+                WatchKey watchKey = watchService.take();
+                boolean changed = false;
+
+                for(WatchEvent<?> event : watchKey.pollEvents()) {
+
+                    if(event.kind() == StandardWatchEventKinds.OVERFLOW || keyFile.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+
+                Path current = realPath(keyFile);
+
+                if(changed || (current != null && !current.equals(realPath))) {
+                    realPath = current;
+                    reload();
+                }
+
+                if(!watchKey.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    private static Path realPath(Path path) {
+
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Map<String, Key> loadKeys() throws IOException {
+
+        Map<String, String> secrets = new LinkedHashMap<>(properties.getKeys());
+
+        if(properties.getKeyFile() != null) {
+
+            Properties file = new Properties();
+
+            try (InputStream inputStream = Files.newInputStream(Paths.get(properties.getKeyFile()))) {
+                file.load(inputStream);
+            }
+
+            for(String kid : file.stringPropertyNames()) {
+                secrets.put(kid, file.getProperty(kid).trim());
+            }
+        }
+
+        if(secrets.isEmpty()) {
+            secrets.put(properties.getDefaultKid(), LEGACY_KEY);
+        }
+
+        Map<String, Key> keys = new HashMap<>();
+
+        for(Map.Entry<String, String> secret : secrets.entrySet()) {
+            keys.put(secret.getKey(), Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret.getValue())));
+        }
+
+        return keys;
+    }
+
+    private static final class KeyEntry {
+
+        private final Key key;
+        private final long retireAt;
+
+        private KeyEntry(Key key, long retireAt) {
+            this.key = key;
+            this.retireAt = retireAt;
+        }
+    }
+
+}
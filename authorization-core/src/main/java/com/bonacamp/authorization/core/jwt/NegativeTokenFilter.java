@@ -0,0 +1,178 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+
+/**
+ * 세션이 없거나 폐기된 토큰의 확률적 네거티브 캐시
+ * 시간 구간(window)마다 Bloom filter 를 교체하며 현재/이전 구간 필터를 함께 조회하므로,
+ * 기록된 토큰은 window 이상 2 * window 이하 동안 유지된다.
+ * 필터에 있는 토큰은 서명 검증과 세션 조회 없이 404 로 거부하므로, 정상 토큰이 잘못 거부될 확률(false positive)은
+ * window 당 기록 수가 expected-insertions 이하일 때 fpp 이하로 유지된다.
+ * 발급(iat) 후 grace-period 가 지나지 않은 토큰은 복제 지연으로 세션이 아직 보이지 않을 수 있어 기록하지 않는다.
+ */
+@Component
+public class NegativeTokenFilter {
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final long gracePeriodMillis;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long rotateAt;
+
+    public NegativeTokenFilter(AuthorizationProperties authorizationProperties) {
+
+        AuthorizationProperties.NegativeCache properties = authorizationProperties.getNegativeCache();
+        long expectedInsertions = Math.max(1L, properties.getExpectedInsertions());
+        double fpp = properties.getFpp();
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+
+        this.enabled = properties.isEnabled();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.gracePeriodMillis = properties.getGracePeriod().toMillis();
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+
+        if(enabled) {
+            this.current = new BloomFilter(bitCount);
+            this.previous = new BloomFilter(bitCount);
+            this.rotateAt = System.nanoTime() + windowNanos;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 세션 조회 결과 세션이 없는 토큰을 기록한다. 발급 시각을 모르거나 grace-period 안에 발급된 토큰은 기록하지 않는다.
+     */
+    public void put(String accessToken, Date issuedAt) {
+
+        if(issuedAt == null || System.currentTimeMillis() - issuedAt.getTime() < gracePeriodMillis) {
+            return;
+        }
+
+        put(accessToken);
+    }
+
+    /**
+     * 로그아웃 등으로 폐기된 토큰을 기록한다.
+     */
+    public void put(String accessToken) {
+
+        if(!enabled) {
+            return;
+        }
+
+        rotateIfExpired();
+        current.put(accessToken, hashCount);
+    }
+
+    public boolean mightContain(String accessToken) {
+
+        if(!enabled) {
+            return false;
+        }
+
+        rotateIfExpired();
+
+        return current.mightContain(accessToken, hashCount) || previous.mightContain(accessToken, hashCount);
+    }
+
+    private void rotateIfExpired() {
+
+        if(System.nanoTime() - rotateAt < 0) {
+            return;
+        }
+
+        synchronized (this) {
+
+            long now = System.nanoTime();
+
+            if(now - rotateAt < 0) {
+                return;
+            }
+
+            // 두 구간 이상 지난 경우 이전 필터도 만료되었으므로 함께 비운다.
+            previous = now - rotateAt >= windowNanos ? new BloomFilter(bitCount) : current;
+            current = new BloomFilter(bitCount);
+            rotateAt = now + windowNanos;
+        }
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bitCount;
+
+        private BloomFilter(int bitCount) {
+            this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+            this.bitCount = bitCount;
+        }
+
+        private void put(String token, int hashCount) {
+
+            long hash1 = hash(token, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(token, 0xC2B2AE3D27D4EB4FL) | 1L;
+
+            for(int i = 0; i < hashCount; i++) {
+
+                int bit = index(hash1 + i * hash2);
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long value = words.get(word);
+
+                while((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                    value = words.get(word);
+                }
+            }
+        }
+
+        private boolean mightContain(String token, int hashCount) {
+
+            long hash1 = hash(token, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(token, 0xC2B2AE3D27D4EB4FL) | 1L;
+
+            for(int i = 0; i < hashCount; i++) {
+
+                int bit = index(hash1 + i * hash2);
+
+                if((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private int index(long hash) {
+            return (int) ((hash & Long.MAX_VALUE) % bitCount);
+        }
+
+        private static long hash(String token, long seed) {
+
+            long hash = seed ^ token.length();
+
+            for(int i = 0; i < token.length(); i++) {
+                hash = (hash ^ token.charAt(i)) * 0x100000001B3L;
+                hash ^= hash >>> 29;
+            }
+
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.bonacamp.authorization.core.jwt;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.service.ReactiveRedisService;
+import com.bonacamp.authorization.core.redis.service.SessionStatus;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux 용 토큰 검증
+ * 서명 검증과 권한 매칭은 JwtTokenProvider 와 동일하며, 세션 조회만 ReactiveRedisTemplate 으로 수행해
+ * 이벤트 루프 스레드를 블로킹하지 않는다.
+ * 세션 조회는 RedisServiceConfig 의 계층(near-cache, 장애 대응/fallback, 동시 조회 병합, Redis 메트릭)을 거치지 않으며,
+ * 조회가 실패하면 fallback 없이 503 으로 응답한다. local-store 사용 시에는 동기 경로와 같은 구성을 사용한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ReactiveJwtTokenProvider {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveRedisService reactiveRedisService;
+    private final AuthorizationMetrics metrics;
+
+    public Mono<VerificationResult> verify(ServerWebExchange exchange, String serverCode) {
+
+        return verify(exchange.getRequest(), serverCode);
+    }
+
+    public Mono<VerificationResult> verify(ServerHttpRequest request, String serverCode) {
+
+        return Mono.defer(() -> {
+
+            TokenVerification verification = jwtTokenProvider.begin(
+                    request.getHeaders().getFirst(JwtTokenProvider.AUTHORIZATION_HEADER),
+                    request.getURI().getRawPath(),
+                    request.getMethodValue(),
+                    serverCode);
+
+            if(verification.isCompleted()) {
+                metrics.recordResult(serverCode, verification.getResult().getStatus());
+                jwtTokenProvider.touch(verification.getAccessToken(), verification.getResult());
+                return Mono.just(verification.getResult());
+            }
+
+            long start = metrics.start();
+
+            return reactiveRedisService.checkSession(verification.getAccessToken(), serverCode)
+                    .onErrorReturn(SessionStatus.UNAVAILABLE)
+                    .map(sessionStatus -> {
+                        metrics.recordStage(AuthorizationMetrics.Stage.SESSION, start);
+
+                        VerificationResult result = jwtTokenProvider.complete(verification, sessionStatus);
+                        metrics.recordResult(serverCode, result.getStatus());
+                        jwtTokenProvider.touch(verification.getAccessToken(), result);
+
+                        return result;
+                    });
+        });
+    }
+
+}
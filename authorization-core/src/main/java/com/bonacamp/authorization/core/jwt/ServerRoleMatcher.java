@@ -0,0 +1,170 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.bonacamp.authorization.core.redis.service.MethodType;
+
+/**
+ * server_role 클레임을 URI 세그먼트 단위 트리로 컴파일한 권한 매처
+ * "path.read", "path.write" 형태의 role 은 path 하위의 모든 URI 에 해당 권한을 부여한다.
+ * 요청 URI 는 앞에서부터 한 번만 순회하며, 조회 시 객체를 생성하지 않는다.
+ */
+public final class ServerRoleMatcher {
+
+    private final Node root = new Node("");
+    private final List<String> roles;
+
+    private ServerRoleMatcher(List<String> roles) {
+        this.roles = Collections.unmodifiableList(roles);
+    }
+
+    /**
+     * server_role 클레임 문자열을 컴파일한다.
+     * 형식이 잘못된 role 은 무시한다.
+     *
+     * @param serverRoleClaim "[a.read, b/c.write]" 또는 "a.read,b/c.write" 형태의 문자열
+     * @return 컴파일된 매처
+     */
+    public static ServerRoleMatcher compile(String serverRoleClaim) {
+
+        List<String> roles = new ArrayList<>();
+        String value = serverRoleClaim == null ? "" : serverRoleClaim.replace("[", "").replace("]", "");
+
+        for(String role : value.split(",")) {
+
+            role = role.trim();
+
+            if(!role.isEmpty()) {
+                roles.add(role);
+            }
+        }
+
+        ServerRoleMatcher matcher = new ServerRoleMatcher(roles);
+
+        for(String role : roles) {
+            matcher.add(role);
+        }
+
+        return matcher;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public boolean isEmpty() {
+        return roles.isEmpty();
+    }
+
+    public boolean matches(String uri, MethodType methodType) {
+
+        int mask = methodType.getMask();
+        Node node = root;
+
+        if((node.permissions & mask) != 0) {
+            return true;
+        }
+
+        int length = uri.length();
+        int start = 0;
+
+        while(start < length) {
+
+            if(uri.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+
+            int end = uri.indexOf('/', start);
+
+            if(end < 0) {
+                end = length;
+            }
+
+            node = node.child(uri, start, end - start);
+
+            if(node == null) {
+                return false;
+            }
+
+            if((node.permissions & mask) != 0) {
+                return true;
+            }
+
+            start = end;
+        }
+
+        return false;
+    }
+
+    private void add(String role) {
+
+        int separator = role.lastIndexOf('.');
+
+        if(separator < 0) {
+            return;
+        }
+
+        MethodType methodType;
+
+        try {
+            methodType = MethodType.of(role.substring(separator + 1));
+        } catch (NoSuchElementException e) {
+            return;
+        }
+
+        Node node = root;
+
+        for(String segment : role.substring(0, separator).split("/")) {
+
+            if(!segment.isEmpty()) {
+                node = node.getOrAddChild(segment);
+            }
+        }
+
+        node.permissions |= methodType.getMask();
+    }
+
+    private static final class Node {
+
+        private static final Node[] EMPTY = new Node[0];
+
+        private final String segment;
+        private Node[] children = EMPTY;
+        private int permissions;
+
+        private Node(String segment) {
+            this.segment = segment;
+        }
+
+        private Node child(String uri, int start, int length) {
+
+            for(Node child : children) {
+
+                if(child.segment.length() == length && uri.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+
+            return null;
+        }
+
+        private Node getOrAddChild(String segment) {
+
+            Node child = child(segment, 0, segment.length());
+
+            if(child == null) {
+                child = new Node(segment);
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = child;
+            }
+
+            return child;
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.service.RedisService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 세션 슬라이딩 만료
+ * 허용된 요청의 토큰을 로컬 버퍼에 중복 없이 모았다가 flush-interval 마다, 또는 max-batch-size 에 도달하면
+ * RedisService.expireAll 로 ttl 만큼 연장한다(남은 만료 시간이 더 긴 세션은 줄이지 않는다). 세션당 Redis 쓰기는 flush 주기당 최대 한 번이다.
+ * 연장은 best-effort 이며 실패한 배치는 다시 시도하지 않는다(다음 요청에서 다시 기록된다).
+ * 버퍼 교체는 기록과 배타적으로 수행되므로 flush 중에 기록된 토큰은 교체 전 버퍼 또는 새 버퍼 중 하나에 반드시 남는다.
+ */
+@Slf4j
+@Component
+public class SlidingExpiration {
+
+    private final AuthorizationProperties.SlidingExpiration properties;
+    private final RedisService redisService;
+    private final AtomicReference<Batch> buffer = new AtomicReference<>(new Batch());
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+
+    public SlidingExpiration(AuthorizationProperties authorizationProperties, RedisService redisService) {
+        this.properties = authorizationProperties.getSlidingExpiration();
+        this.redisService = redisService;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @PostConstruct
+    public void start() {
+
+        if(!isEnabled()) {
+            return;
+        }
+
+        long interval = properties.getFlushInterval().toMillis();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sliding-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void touch(String accessToken) {
+
+        if(scheduler == null) {
+            return;
+        }
+
+        int size;
+
+        swapLock.readLock().lock();
+
+        try {
+            size = buffer.get().add(accessToken);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+
+        if(size >= properties.getMaxBatchSize() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    void flush() {
+
+        flushRequested.set(false);
+
+        Set<String> keys;
+
+        swapLock.writeLock().lock();
+
+        try {
+            keys = buffer.getAndSet(new Batch()).keys;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        if(keys.isEmpty()) {
+            return;
+        }
+
+        // PEXPIRE 인자는 int 밀리초이므로 범위를 넘는 ttl 은 최대값으로 제한한다.
+        int timeout = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, properties.getTtl().toMillis()));
+        List<String> batch = new ArrayList<>(Math.min(keys.size(), properties.getMaxBatchSize()));
+
+        for(String key : keys) {
+
+            batch.add(key);
+
+            if(batch.size() >= properties.getMaxBatchSize()) {
+                expire(batch, timeout);
+                batch.clear();
+            }
+        }
+
+        if(!batch.isEmpty()) {
+            expire(batch, timeout);
+        }
+    }
+
+    private void expire(List<String> keys, int timeout) {
+
+        try {
+            redisService.expireAll(keys, timeout);
+        } catch (RuntimeException e) {
+            log.warn("failed to extend {} sessions : {}", keys.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+
+        if(scheduler != null) {
+            scheduler.shutdown();
+            flush();
+        }
+    }
+
+    /**
+     * 버퍼와 그 크기, 함께 교체되므로 flush 와 동시에 기록되어도 다음 버퍼의 크기가 어긋나지 않는다.
+     */
+    private static final class Batch {
+
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * @return 추가 후 크기, 이미 있는 토큰이면 0
+         */
+        private int add(String accessToken) {
+            return keys.add(accessToken) ? size.incrementAndGet() : 0;
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.bonacamp.authorization.core.jwt;
+
+/**
+ * 서명 검증 전 토큰 구조 사전 검사
+ * 예외 없이 세그먼트 수, base64url 문자, 헤더 alg, payload 최상위 exp 만 확인한다.
+ * jjwt 가 허용하는 토큰을 거부하지 않도록 세그먼트 끝의 padding('=')은 허용하고,
+ * 판단할 수 없는 값(exp 가 정수가 아닌 경우 등)은 통과시킨다.
+ */
+final class TokenPrecheck {
+
+    enum Result {
+        VALID, MALFORMED, INVALID_ENCODING, UNSUPPORTED_ALGORITHM, EXPIRED
+    }
+
+    private static final byte[] ALG = {'a', 'l', 'g'};
+    private static final byte[] EXP = {'e', 'x', 'p'};
+    private static final int MAX_HEADER_LENGTH = 512;
+
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[2048]);
+
+    private TokenPrecheck() {}
+
+    static Result check(String token) {
+        return check(token, System.currentTimeMillis());
+    }
+
+    static Result check(String token, long now) {
+
+        int headerEnd = -1;
+        int payloadEnd = -1;
+        int headerPadding = 0;
+        int payloadPadding = 0;
+        int padding = 0;
+        int length = token.length();
+
+        for(int i = 0; i < length; i++) {
+
+            char c = token.charAt(i);
+
+            if(c == '.') {
+
+                if(headerEnd < 0) {
+                    headerEnd = i;
+                    headerPadding = padding;
+                }
+                else if(payloadEnd < 0) {
+                    payloadEnd = i;
+                    payloadPadding = padding;
+                }
+                else {
+                    return Result.MALFORMED;
+                }
+
+                padding = 0;
+            }
+            else if(c == '=') {
+                padding++;
+            }
+            else if(padding > 0 || !Base64Url.isAlphabet(c)) {
+                return Result.INVALID_ENCODING;
+            }
+        }
+
+        if(headerEnd <= headerPadding || payloadEnd < 0 || payloadEnd == headerEnd + 1 + payloadPadding || payloadEnd == length - 1) {
+            return Result.MALFORMED;
+        }
+
+        if(headerEnd > MAX_HEADER_LENGTH) {
+            return Result.MALFORMED;
+        }
+
+        byte[] buffer = buffer(Math.max(headerEnd, payloadEnd - headerEnd - 1));
+        int decoded = Base64Url.decode(token, 0, headerEnd - headerPadding, buffer);
+
+        if(decoded < 0) {
+            return Result.INVALID_ENCODING;
+        }
+
+        if(!isSupportedAlgorithm(buffer, decoded)) {
+            return Result.UNSUPPORTED_ALGORITHM;
+        }
+
+        decoded = Base64Url.decode(token, headerEnd + 1, payloadEnd - payloadPadding, buffer);
+
+        if(decoded < 0) {
+            return Result.INVALID_ENCODING;
+        }
+
+        long exp = longValue(buffer, decoded, valueStart(buffer, decoded, EXP));
+
+        if(exp >= 0 && exp * 1000 < now) {
+            return Result.EXPIRED;
+        }
+
+        return Result.VALID;
+    }
+
+    private static byte[] buffer(int encodedLength) {
+
+        byte[] buffer = BUFFER.get();
+        int required = encodedLength * 6 / 8;
+
+        if(buffer.length < required) {
+            buffer = new byte[Math.max(required, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * HS256, HS384, HS512
+     */
+    private static boolean isSupportedAlgorithm(byte[] header, int length) {
+
+        int start = valueStart(header, length, ALG);
+
+        if(start < 0 || start + 7 > length) {
+            return false;
+        }
+
+        if(header[start] != '"' || header[start + 1] != 'H' || header[start + 2] != 'S' || header[start + 6] != '"') {
+            return false;
+        }
+
+        byte a = header[start + 3];
+        byte b = header[start + 4];
+        byte c = header[start + 5];
+
+        return (a == '2' && b == '5' && c == '6') || (a == '3' && b == '8' && c == '4') || (a == '5' && b == '1' && c == '2');
+    }
+
+    /**
+     * JSON 객체 최상위 name 키의 값이 시작하는 위치, 없으면 -1
+     * 중첩된 객체/배열의 키와 문자열 값은 건너뛰며, 같은 키가 여러 번 있으면 마지막 값을 사용한다(Jackson 과 동일).
+     */
+    private static int valueStart(byte[] json, int length, byte[] name) {
+
+        int position = skipWhitespace(json, length, 0);
+
+        if(position >= length || json[position] != '{') {
+            return -1;
+        }
+
+        int found = -1;
+        int depth = 0;
+        boolean key = false;
+
+        for(int i = position; i < length; i++) {
+
+            byte b = json[i];
+
+            if(b == '"') {
+
+                int end = stringEnd(json, length, i);
+
+                if(end < 0) {
+                    return found;
+                }
+
+                if(key) {
+
+                    int colon = skipWhitespace(json, length, end + 1);
+
+                    if(colon >= length || json[colon] != ':') {
+                        return found;
+                    }
+
+                    if(equals(json, i + 1, end, name)) {
+                        found = skipWhitespace(json, length, colon + 1);
+                    }
+
+                    key = false;
+                    i = colon;
+                }
+                else {
+                    i = end;
+                }
+            }
+            else if(b == '{' || b == '[') {
+                depth++;
+                key = depth == 1;
+            }
+            else if(b == '}' || b == ']') {
+                depth--;
+            }
+            else if(b == ',') {
+                key = depth == 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * start 위치의 따옴표로 시작하는 문자열을 닫는 따옴표 위치, 닫히지 않으면 -1
+     */
+    private static int stringEnd(byte[] json, int length, int start) {
+
+        for(int i = start + 1; i < length; i++) {
+
+            if(json[i] == '\\') {
+                i++;
+            }
+            else if(json[i] == '"') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean equals(byte[] json, int from, int to, byte[] name) {
+
+        if(to - from != name.length) {
+            return false;
+        }
+
+        for(int i = 0; i < name.length; i++) {
+
+            if(json[from + i] != name[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] json, int length, int position) {
+
+        while(position < length && (json[position] == ' ' || json[position] == '\t' || json[position] == '\r' || json[position] == '\n')) {
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * 음이 아닌 정수 값, 정수가 아니거나 범위를 넘으면 -1
+     */
+    private static long longValue(byte[] json, int length, int start) {
+
+        if(start < 0 || start >= length) {
+            return -1;
+        }
+
+        long value = 0;
+        int position = start;
+
+        while(position < length && json[position] >= '0' && json[position] <= '9') {
+
+            if(position - start >= 15) {
+                return -1;
+            }
+
+            value = value * 10 + (json[position] - '0');
+            position++;
+        }
+
+        if(position == start || (position < length && (json[position] == '.' || json[position] == 'e' || json[position] == 'E'))) {
+            return -1;
+        }
+
+        return value;
+    }
+
+}
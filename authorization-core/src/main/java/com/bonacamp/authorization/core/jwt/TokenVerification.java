@@ -0,0 +1,50 @@
+package com.bonacamp.authorization.core.jwt;
+
+import com.bonacamp.authorization.core.redis.service.MethodType;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+/**
+ * 토큰 검증 진행 상태
+ * 세션 조회 전 단계(begin)와 이후 단계(complete) 사이에서 요청 정보와 클레임을 전달한다.
+ */
+@Getter
+final class TokenVerification {
+
+    private final String accessToken;
+    private final String serverCode;
+    private final String route;
+    private final MethodType method;
+
+    private String tokenDigest;
+    private String decisionKey;
+    private Claims claims;
+    private VerificationResult result;
+
+    TokenVerification(String accessToken, String serverCode, String route, MethodType method) {
+        this.accessToken = accessToken;
+        this.serverCode = serverCode;
+        this.route = route;
+        this.method = method;
+    }
+
+    boolean isCompleted() {
+        return result != null;
+    }
+
+    void cacheKey(String tokenDigest, String decisionKey) {
+        this.tokenDigest = tokenDigest;
+        this.decisionKey = decisionKey;
+    }
+
+    void claims(Claims claims) {
+        this.claims = claims;
+    }
+
+    TokenVerification complete(VerificationResult result) {
+        this.result = result;
+        return this;
+    }
+
+}
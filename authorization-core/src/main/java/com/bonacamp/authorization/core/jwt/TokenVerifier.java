@@ -0,0 +1,18 @@
+package com.bonacamp.authorization.core.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JWT 서명 검증 엔진
+ */
+public interface TokenVerifier {
+
+    /**
+     * 서명과 만료 시간을 검증하고 클레임을 반환한다.
+     *
+     * @param token compact JWT
+     * @return 검증에 성공하면 클레임, 실패하면 null
+     */
+    Claims verify(String token);
+
+}
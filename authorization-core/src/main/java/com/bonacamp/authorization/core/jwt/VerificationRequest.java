@@ -0,0 +1,21 @@
+package com.bonacamp.authorization.core.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 검증 요청 항목
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class VerificationRequest {
+
+    private final String accessToken;
+
+    private final String serverCode;
+
+    private final String httpMethod;
+
+    private final String requestUri;
+
+}
@@ -0,0 +1,65 @@
+package com.bonacamp.authorization.core.jwt;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 토큰 검증 결과
+ * HTTP 상태 코드와 함께 검증 과정에서 확인한 클레임 정보를 전달한다.
+ * clientId 는 getClientId 를 호출할 때 디코딩한다.
+ */
+@Getter
+public class VerificationResult {
+
+    private final int status;
+
+    @Getter(AccessLevel.NONE)
+    private final String encodedClientId;
+
+    private final String userRole;
+
+    private final String serverCode;
+
+    private final List<String> serverRoles;
+
+    private final Date expiration;
+
+    @Getter(AccessLevel.NONE)
+    private String clientId;
+
+    @Builder(access = AccessLevel.PACKAGE)
+    private VerificationResult(int status, String encodedClientId, String userRole, String serverCode,
+                               List<String> serverRoles, Date expiration) {
+        this.status = status;
+        this.encodedClientId = encodedClientId;
+        this.userRole = userRole;
+        this.serverCode = serverCode;
+        this.serverRoles = serverRoles == null ? Collections.emptyList() : serverRoles;
+        this.expiration = expiration;
+    }
+
+    public String getClientId() {
+
+        if(clientId == null && encodedClientId != null) {
+            clientId = ClientIdCodec.decode(encodedClientId);
+        }
+
+        return clientId;
+    }
+
+    public boolean isAuthorized() {
+        return status == HttpStatus.OK.value();
+    }
+
+    static VerificationResult of(HttpStatus status) {
+        return VerificationResult.builder().status(status.value()).build();
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.bonacamp.authorization.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 토큰 검증 메트릭
+ * MeterRegistry 가 없으면 비활성화되며, 이 경우 모든 기록 함수는 분기 하나로 끝난다.
+ *
+ * <ul>
+ *     <li>authorization.verification.stage (timer, tag: stage)</li>
+ *     <li>authorization.verification (counter, tag: status, serverCode)</li>
+ *     <li>authorization.redis (timer, tag: operation)</li>
+ *     <li>authorization.redis.mode (gauge, 0 정상 / 1 복구 확인 중 / 2 장애 대응)</li>
+ * </ul>
+ */
+public class AuthorizationMetrics {
+
+    public static final String STAGE_TIMER = "authorization.verification.stage";
+    public static final String RESULT_COUNTER = "authorization.verification";
+    public static final String REDIS_TIMER = "authorization.redis";
+    public static final String REDIS_MODE_GAUGE = "authorization.redis.mode";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[] stageTimers;
+    private final Map<String, Map<Integer, Counter>> resultCounters = new ConcurrentHashMap<>();
+
+    public AuthorizationMetrics(MeterRegistry meterRegistry) {
+
+        this.meterRegistry = meterRegistry;
+        this.stageTimers = new Timer[Stage.values().length];
+
+        if(meterRegistry != null) {
+
+            for(Stage stage : Stage.values()) {
+                stageTimers[stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                        .tag("stage", stage.getValue())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public static AuthorizationMetrics disabled() {
+        return new AuthorizationMetrics(null);
+    }
+
+    public boolean isEnabled() {
+        return meterRegistry != null;
+    }
+
+    /**
+     * 구간 측정 시작 시각, 비활성화 상태면 0
+     */
+    public long start() {
+        return meterRegistry == null ? 0L : System.nanoTime();
+    }
+
+    public void recordStage(Stage stage, long startNanos) {
+
+        if(meterRegistry != null) {
+            stageTimers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordResult(String serverCode, int status) {
+
+        if(meterRegistry == null) {
+            return;
+        }
+
+        String tag = serverCode == null ? "none" : serverCode;
+
+        resultCounters.computeIfAbsent(tag, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, k -> Counter.builder(RESULT_COUNTER)
+                        .tag("serverCode", tag)
+                        .tag("status", String.valueOf(status))
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public Timer redisTimer(String operation) {
+
+        if(meterRegistry == null) {
+            return null;
+        }
+
+        return Timer.builder(REDIS_TIMER)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void redisModeGauge(Supplier<Number> mode) {
+
+        if(meterRegistry != null) {
+            Gauge.builder(REDIS_MODE_GAUGE, mode).register(meterRegistry);
+        }
+    }
+
+    public enum Stage {
+
+        SIGNATURE("signature"),
+        SESSION("session"),
+        ROLE("role")
+        ;
+
+        private final String value;
+
+        Stage(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+}
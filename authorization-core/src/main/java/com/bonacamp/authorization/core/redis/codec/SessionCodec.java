@@ -0,0 +1,150 @@
+package com.bonacamp.authorization.core.redis.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 세션 값 인코딩/디코딩
+ * 바이너리 형식(SessionValue)과 기존 JSON 형식([{"serverCode": "..."}, ...])을 모두 읽는다.
+ */
+public final class SessionCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String SERVERCODE = "serverCode";
+
+    private SessionCodec() {}
+
+    public static SessionValue encode(long issuedAt, Collection<String> serverCodes) {
+
+        if(serverCodes.size() > SessionValue.MAX_SERVER_CODE_COUNT) {
+            throw new IllegalArgumentException("too many server codes : " + serverCodes.size());
+        }
+
+        List<byte[]> encoded = new ArrayList<>(serverCodes.size());
+        int length = SessionValue.HEADER_LENGTH;
+
+        for(String serverCode : serverCodes) {
+
+            byte[] bytes = serverCode.getBytes(StandardCharsets.UTF_8);
+
+            if(bytes.length > SessionValue.MAX_SERVER_CODE_LENGTH) {
+                throw new IllegalArgumentException("server code is too long : " + serverCode);
+            }
+
+            encoded.add(bytes);
+            length += 1 + bytes.length;
+        }
+
+        byte[] bytes = new byte[length];
+        int[] offsets = new int[encoded.size()];
+
+        bytes[0] = SessionValue.MAGIC;
+        bytes[1] = SessionValue.VERSION;
+
+        for(int i = 0; i < 8; i++) {
+            bytes[2 + i] = (byte) (issuedAt >>> (56 - i * 8));
+        }
+
+        bytes[10] = (byte) (encoded.size() >>> 8);
+        bytes[11] = (byte) encoded.size();
+
+        int position = SessionValue.HEADER_LENGTH;
+
+        for(int i = 0; i < encoded.size(); i++) {
+
+            byte[] serverCode = encoded.get(i);
+            offsets[i] = position;
+            bytes[position++] = (byte) serverCode.length;
+            System.arraycopy(serverCode, 0, bytes, position, serverCode.length);
+            position += serverCode.length;
+        }
+
+        return new SessionValue(bytes, offsets);
+    }
+
+    public static byte[] toBytes(SessionValue value) {
+        return value.bytes();
+    }
+
+    /**
+     * 바이트 배열을 세션 값으로 변환한다.
+     *
+     * @param bytes Redis 에 저장된 값
+     * @return 세션 값, 비어 있으면 null
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static SessionValue decode(byte[] bytes) {
+
+        if(bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if(bytes[0] == SessionValue.MAGIC) {
+            return decodeBinary(bytes);
+        }
+
+        return decodeLegacy(bytes);
+    }
+
+    private static SessionValue decodeBinary(byte[] bytes) {
+
+        if(bytes.length < SessionValue.HEADER_LENGTH || bytes[1] != SessionValue.VERSION) {
+            throw new IllegalArgumentException("unsupported session format");
+        }
+
+        int count = ((bytes[10] & 0xFF) << 8) | (bytes[11] & 0xFF);
+        int[] offsets = new int[count];
+        int position = SessionValue.HEADER_LENGTH;
+
+        for(int i = 0; i < count; i++) {
+
+            if(position >= bytes.length) {
+                throw new IllegalArgumentException("truncated session value");
+            }
+
+            offsets[i] = position;
+            position += 1 + (bytes[position] & 0xFF);
+        }
+
+        if(position != bytes.length) {
+            throw new IllegalArgumentException("truncated session value");
+        }
+
+        return new SessionValue(bytes, offsets);
+    }
+
+    private static SessionValue decodeLegacy(byte[] bytes) {
+
+        JsonNode entries;
+
+        try {
+            entries = OBJECT_MAPPER.readTree(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("unsupported session format", e);
+        }
+
+        if(entries.isTextual()) {
+            return decodeLegacy(entries.textValue().getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<String> serverCodes = new ArrayList<>();
+
+        for(JsonNode entry : entries) {
+
+            JsonNode serverCode = entry.get(SERVERCODE);
+
+            if(serverCode != null && serverCode.isTextual()) {
+                serverCodes.add(serverCode.textValue());
+            }
+        }
+
+        return encode(0L, serverCodes);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.bonacamp.authorization.core.redis.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 세션 값 RedisSerializer
+ * 쓰기는 항상 바이너리 형식이며, 읽기는 마이그레이션 기간 동안 기존 JSON 형식도 허용한다.
+ */
+public class SessionRedisSerializer implements RedisSerializer<SessionValue> {
+
+    @Override
+    public byte[] serialize(SessionValue value) throws SerializationException {
+        return value == null ? null : SessionCodec.toBytes(value);
+    }
+
+    @Override
+    public SessionValue deserialize(byte[] bytes) throws SerializationException {
+
+        try {
+            return SessionCodec.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+    }
+
+}
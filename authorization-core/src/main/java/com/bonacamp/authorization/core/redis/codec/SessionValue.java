@@ -0,0 +1,130 @@
+package com.bonacamp.authorization.core.redis.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis 세션 값
+ * 인코딩된 바이트 배열과 serverCode 위치(offset)만 보관하며, contains 조회는 문자열을 만들지 않고 바이트를 직접 비교한다.
+ *
+ * <pre>
+ * magic(1) version(1) issuedAt(8) count(2) [length(1) serverCode(length)] * count
+ * </pre>
+ */
+public final class SessionValue {
+
+    static final byte MAGIC = (byte) 0xBC;
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = 12;
+    static final int MAX_SERVER_CODE_LENGTH = 0xFF;
+    static final int MAX_SERVER_CODE_COUNT = 0xFFFF;
+
+    private final byte[] bytes;
+    private final int[] offsets;
+
+    SessionValue(byte[] bytes, int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+    }
+
+    public static SessionValue of(long issuedAt, Collection<String> serverCodes) {
+        return SessionCodec.encode(issuedAt, serverCodes);
+    }
+
+    public long getIssuedAt() {
+
+        long issuedAt = 0;
+
+        for(int i = 2; i < 10; i++) {
+            issuedAt = (issuedAt << 8) | (bytes[i] & 0xFF);
+        }
+
+        return issuedAt;
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public boolean contains(String serverCode) {
+
+        if(serverCode == null) {
+            return false;
+        }
+
+        for(int offset : offsets) {
+
+            if(matches(offset, serverCode)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public List<String> getServerCodes() {
+
+        List<String> serverCodes = new ArrayList<>(offsets.length);
+
+        for(int offset : offsets) {
+            serverCodes.add(new String(bytes, offset + 1, bytes[offset] & 0xFF, StandardCharsets.UTF_8));
+        }
+
+        return Collections.unmodifiableList(serverCodes);
+    }
+
+    /**
+     * 인코딩된 바이트 배열 (외부 변경 금지)
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    private boolean matches(int offset, String serverCode) {
+
+        int length = bytes[offset] & 0xFF;
+
+        if(length != serverCode.length()) {
+            // UTF-8 로 인코딩 시 길이가 늘어나는 문자가 포함된 경우
+            return length > serverCode.length() && matchesEncoded(offset, serverCode);
+        }
+
+        for(int i = 0; i < length; i++) {
+
+            char c = serverCode.charAt(i);
+
+            if(c >= 0x80) {
+                return false;
+            }
+
+            if(bytes[offset + 1 + i] != (byte) c) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean matchesEncoded(int offset, String serverCode) {
+
+        byte[] encoded = serverCode.getBytes(StandardCharsets.UTF_8);
+        int length = bytes[offset] & 0xFF;
+
+        if(encoded.length != length) {
+            return false;
+        }
+
+        for(int i = 0; i < length; i++) {
+
+            if(bytes[offset + 1 + i] != encoded[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
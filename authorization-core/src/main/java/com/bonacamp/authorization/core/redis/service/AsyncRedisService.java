@@ -0,0 +1,40 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+/**
+ * RedisService 의 비동기 버전
+ * 호출 스레드를 블로킹하지 않으며, 결과는 Lettuce 이벤트 루프 스레드에서 완료된다.
+ */
+public interface AsyncRedisService {
+
+    CompletionStage<Void> setValue(String key, String data, Duration duration);
+
+    CompletionStage<String> getValue(String key);
+
+    /**
+     * 존재하는 키만 담은 Map (MGET)
+     */
+    CompletionStage<Map<String, String>> getValues(Collection<String> keys);
+
+    CompletionStage<Void> setSession(String key, SessionValue session, Duration duration);
+
+    CompletionStage<SessionValue> getSession(String key);
+
+    CompletionStage<Void> delete(String key);
+
+    CompletionStage<Void> expire(String key, int timeout);
+
+    CompletionStage<Boolean> hasKey(String key);
+
+    CompletionStage<SessionStatus> checkSession(String key, String serverCode);
+
+    CompletionStage<List<SessionStatus>> checkSessions(List<String> keys, List<String> serverCodes);
+
+}
@@ -0,0 +1,409 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Service;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lettuce async 명령으로 구현한 AsyncRedisService
+ * LettuceConnectionFactory 의 클라이언트(RedisClient 또는 RedisClusterClient)로 전용 연결을 하나 열어 사용하므로
+ * shareNativeConnection 설정과 무관하게 동작하며, 연결은 종료 시 닫는다.
+ * read-from 은 클러스터 연결에만 적용되고, 단일 노드/sentinel 에서는 primary 에서 읽는다.
+ */
+@ConditionalOnProperty(prefix = "authorization.local-store", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Service
+@RequiredArgsConstructor
+public class AsyncRedisServiceImpl implements AsyncRedisService {
+
+    private final LettuceConnectionFactory redisConnectionFactory;
+    private final AuthorizationProperties authorizationProperties;
+    private final SessionKeys sessionKeys;
+
+    private volatile StatefulConnection<byte[], byte[]> connection;
+    private volatile RedisClusterAsyncCommands<byte[], byte[]> commands;
+
+    @Override
+    public CompletionStage<Void> setValue(String key, String data, Duration duration) {
+        return commands().set(toBytes(sessionKeys.key(key)), toBytes(data), SetArgs.Builder.px(duration.toMillis())).thenApply(reply -> null);
+    }
+
+    @Override
+    public CompletionStage<String> getValue(String key) {
+        return read(key, sessionKey -> commands().get(toBytes(sessionKey)).thenApply(AsyncRedisServiceImpl::toString), value -> value != null);
+    }
+
+    @Override
+    public CompletionStage<Map<String, String>> getValues(Collection<String> keys) {
+
+        if(keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new LinkedHashMap<>());
+        }
+
+        List<String> originalKeys = new ArrayList<>(keys);
+        List<String> sessionKeyList = new ArrayList<>(originalKeys.size());
+
+        for(String key : originalKeys) {
+            sessionKeyList.add(sessionKeys.key(key));
+        }
+
+        return multiGet(originalKeys, sessionKeyList).thenCompose(result -> {
+
+            if(!sessionKeys.isDualRead() || result.size() == originalKeys.size()) {
+                return CompletableFuture.completedFuture(result);
+            }
+
+            List<String> missing = new ArrayList<>();
+
+            for(String key : originalKeys) {
+
+                if(!result.containsKey(key)) {
+                    missing.add(key);
+                }
+            }
+
+            return multiGet(missing, missing).thenApply(legacy -> {
+                result.putAll(legacy);
+                return result;
+            });
+        });
+    }
+
+    private CompletionStage<Map<String, String>> multiGet(List<String> keys, List<String> redisKeys) {
+
+        return commands().mget(toBytes(redisKeys)).thenApply(values -> {
+
+            Map<String, String> result = new LinkedHashMap<>();
+
+            for(int i = 0; i < keys.size(); i++) {
+
+                KeyValue<byte[], byte[]> value = values.get(i);
+
+                if(value.hasValue()) {
+                    result.put(keys.get(i), toString(value.getValue()));
+                }
+            }
+
+            return result;
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> setSession(String key, SessionValue session, Duration duration) {
+        return commands().set(toBytes(sessionKeys.key(key)), SessionCodec.toBytes(session), SetArgs.Builder.px(duration.toMillis())).thenApply(reply -> null);
+    }
+
+    @Override
+    public CompletionStage<SessionValue> getSession(String key) {
+        return read(key, sessionKey -> commands().get(toBytes(sessionKey)).thenApply(SessionCodec::decode), session -> session != null);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(String key) {
+        return write(key, sessionKey -> commands().del(toBytes(sessionKey)));
+    }
+
+    @Override
+    public CompletionStage<Void> expire(String key, int timeout) {
+        return write(key, sessionKey -> commands().pexpire(toBytes(sessionKey), timeout));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasKey(String key) {
+        return read(key, sessionKey -> commands().exists(toBytes(sessionKey)).thenApply(count -> count != null && count > 0), exists -> exists);
+    }
+
+    /**
+     * RedisServiceImpl 과 같이 EVALSHA 로 확인하고, 복제본 읽기를 사용하면 GET 후 로컬에서 확인한다.
+     */
+    @Override
+    public CompletionStage<SessionStatus> checkSession(String key, String serverCode) {
+        return read(key, sessionKey -> checkSessionKey(sessionKey, serverCode), status -> status != SessionStatus.NOT_FOUND);
+    }
+
+    private CompletionStage<SessionStatus> checkSessionKey(String key, String serverCode) {
+
+        if(serverCode == null) {
+            return CompletableFuture.completedFuture(SessionStatus.FORBIDDEN);
+        }
+
+        if(authorizationProperties.getRedis().isReplicaRead()) {
+            return commands().get(toBytes(key)).thenApply(value -> toSessionStatus(value, serverCode));
+        }
+
+        return evalCheckSession(key, serverCode);
+    }
+
+    /**
+     * 명령을 모두 보낸 뒤 응답을 모은다. Lettuce 는 한 연결에서 명령을 파이프라인으로 전송한다.
+     */
+    @Override
+    public CompletionStage<List<SessionStatus>> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<String> sessionKeyList = new ArrayList<>(keys.size());
+
+        for(String key : keys) {
+            sessionKeyList.add(sessionKeys.key(key));
+        }
+
+        return checkSessionKeys(sessionKeyList, serverCodes).thenCompose(statuses -> {
+
+            if(!sessionKeys.isDualRead() || !statuses.contains(SessionStatus.NOT_FOUND)) {
+                return CompletableFuture.completedFuture(statuses);
+            }
+
+            List<Integer> missing = new ArrayList<>();
+            List<String> legacyKeys = new ArrayList<>();
+            List<String> legacyServerCodes = new ArrayList<>();
+
+            for(int i = 0; i < statuses.size(); i++) {
+
+                if(statuses.get(i) == SessionStatus.NOT_FOUND) {
+                    missing.add(i);
+                    legacyKeys.add(keys.get(i));
+                    legacyServerCodes.add(serverCodes.get(i));
+                }
+            }
+
+            return checkSessionKeys(legacyKeys, legacyServerCodes).thenApply(legacyStatuses -> {
+
+                for(int i = 0; i < missing.size(); i++) {
+                    statuses.set(missing.get(i), legacyStatuses.get(i));
+                }
+
+                return statuses;
+            });
+        });
+    }
+
+    private CompletionStage<List<SessionStatus>> checkSessionKeys(List<String> keys, List<String> serverCodes) {
+
+        if(keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        if(authorizationProperties.getRedis().isReplicaRead()) {
+
+            return commands().mget(toBytes(keys)).thenApply(values -> {
+
+                List<SessionStatus> statuses = new ArrayList<>(keys.size());
+
+                for(int i = 0; i < keys.size(); i++) {
+                    KeyValue<byte[], byte[]> value = values.get(i);
+                    statuses.add(serverCodes.get(i) == null
+                            ? SessionStatus.FORBIDDEN : toSessionStatus(value.hasValue() ? value.getValue() : null, serverCodes.get(i)));
+                }
+
+                return statuses;
+            });
+        }
+
+        List<CompletableFuture<SessionStatus>> futures = new ArrayList<>(keys.size());
+
+        // serverCode 가 없는 항목은 보내지 않고 FORBIDDEN 으로 채운다.
+        for(int i = 0; i < keys.size(); i++) {
+            futures.add(checkSessionKey(keys.get(i), serverCodes.get(i)).toCompletableFuture());
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+
+            List<SessionStatus> statuses = new ArrayList<>(futures.size());
+
+            for(CompletableFuture<SessionStatus> future : futures) {
+                statuses.add(future.join());
+            }
+
+            return statuses;
+        });
+    }
+
+    /**
+     * 스크립트가 로드되지 않은 경우(NOSCRIPT) EVAL 로 한 번 재시도한다.
+     */
+    private CompletionStage<SessionStatus> evalCheckSession(String key, String serverCode) {
+
+        byte[][] keys = {toBytes(key)};
+        byte[] serverCodeBytes = toBytes(serverCode);
+
+        CompletableFuture<Long> reply = commands().<Long>evalsha(SessionScripts.CHECK_SESSION.getSha1(), ScriptOutputType.INTEGER, keys, serverCodeBytes)
+                .toCompletableFuture();
+
+        return reply.handle((value, e) -> {
+
+            if(e == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+
+            if(!isNoScriptError(e)) {
+                CompletableFuture<Long> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                return failed;
+            }
+
+            return commands().<Long>eval(SessionScripts.CHECK_SESSION.getScriptAsString(), ScriptOutputType.INTEGER, keys, serverCodeBytes)
+                    .toCompletableFuture();
+        }).thenCompose(future -> future).thenApply(SessionStatus::of);
+    }
+
+    /**
+     * 세션 키로 조회하고, DUAL 모드에서 결과가 없으면 기존 토큰 키로 다시 조회한다.
+     */
+    private <T> CompletionStage<T> read(String key, Function<String, CompletionStage<T>> lookup, Predicate<T> found) {
+
+        CompletionStage<T> result = lookup.apply(sessionKeys.key(key));
+
+        if(!sessionKeys.isDualRead()) {
+            return result;
+        }
+
+        return result.thenCompose(value -> found.test(value) ? CompletableFuture.completedFuture(value) : lookup.apply(key));
+    }
+
+    /**
+     * 세션 키에 적용하고, DUAL 모드에서는 기존 토큰 키에도 적용한다.
+     */
+    private CompletionStage<Void> write(String key, Function<String, CompletionStage<?>> command) {
+
+        CompletionStage<?> result = command.apply(sessionKeys.key(key));
+
+        if(sessionKeys.isDualRead()) {
+            result = result.thenCombine(command.apply(key), (first, second) -> null);
+        }
+
+        return result.thenApply(reply -> null);
+    }
+
+    private RedisClusterAsyncCommands<byte[], byte[]> commands() {
+
+        RedisClusterAsyncCommands<byte[], byte[]> current = commands;
+
+        if(current == null) {
+
+            synchronized (this) {
+
+                if(commands == null) {
+                    connect();
+                }
+
+                current = commands;
+            }
+        }
+
+        return current;
+    }
+
+    private void connect() {
+
+        AbstractRedisClient client = redisConnectionFactory.getRequiredNativeClient();
+
+        if(client instanceof RedisClusterClient) {
+
+            StatefulRedisClusterConnection<byte[], byte[]> clusterConnection = ((RedisClusterClient) client).connect(ByteArrayCodec.INSTANCE);
+            String readFrom = authorizationProperties.getRedis().getReadFrom();
+
+            if(readFrom != null) {
+                clusterConnection.setReadFrom(ReadFrom.valueOf(readFrom));
+            }
+
+            connection = clusterConnection;
+            commands = clusterConnection.async();
+            return;
+        }
+
+        StatefulRedisConnection<byte[], byte[]> redisConnection = ((RedisClient) client).connect(ByteArrayCodec.INSTANCE);
+        connection = redisConnection;
+        commands = redisConnection.async();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+
+        if(connection != null) {
+            commands = null;
+            connection.close();
+            connection = null;
+        }
+    }
+
+    private SessionStatus toSessionStatus(byte[] value, String serverCode) {
+
+        SessionValue session;
+
+        try {
+            session = SessionCodec.decode(value);
+        } catch (IllegalArgumentException e) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        if(session == null) {
+            return SessionStatus.NOT_FOUND;
+        }
+
+        return session.contains(serverCode) ? SessionStatus.AUTHORIZED : SessionStatus.FORBIDDEN;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] toBytes(Collection<String> values) {
+
+        byte[][] bytes = new byte[values.size()][];
+        int index = 0;
+
+        for(String value : values) {
+            bytes[index++] = toBytes(value);
+        }
+
+        return bytes;
+    }
+
+    private static String toString(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private boolean isNoScriptError(Throwable e) {
+
+        for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+
+            if(cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
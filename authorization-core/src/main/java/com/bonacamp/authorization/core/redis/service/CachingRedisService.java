@@ -0,0 +1,208 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * RedisService 로컬 캐시(near-cache)
+ * 크기/TTL 기반으로 만료되며, 쓰기 연산은 invalidation 채널에 키를 발행해 다른 인스턴스의 캐시를 비운다.
+ * 채널 메시지를 받지 못한 경우에도 TTL 이후에는 Redis 값이 반영된다.
+ */
+public class CachingRedisService implements RedisService, MessageListener {
+
+    private final RedisService delegate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String invalidationChannel;
+    private final Cache<String, Object> values;
+    private final Cache<String, SessionValue> sessionValues;
+    private final Cache<String, Map<String, SessionStatus>> sessions;
+
+    public CachingRedisService(RedisService delegate, RedisTemplate<String, Object> redisTemplate,
+                               AuthorizationProperties.NearCache nearCache) {
+
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = nearCache.getInvalidationChannel();
+        this.values = Caffeine.newBuilder()
+                .maximumSize(nearCache.getMaximumSize())
+                .expireAfterWrite(nearCache.getTtl())
+                .build();
+        this.sessionValues = Caffeine.newBuilder()
+                .maximumSize(nearCache.getMaximumSize())
+                .expireAfterWrite(nearCache.getTtl())
+                .build();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(nearCache.getMaximumSize())
+                .expireAfterWrite(nearCache.getTtl())
+                .build();
+    }
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        delegate.setValue(key, data, duration);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public Object getValue(String key) {
+
+        Object value = values.getIfPresent(key);
+
+        if(value == null) {
+            value = delegate.getValue(key);
+
+            if(value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        delegate.setSession(key, session, duration);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+
+        SessionValue session = sessionValues.getIfPresent(key);
+
+        if(session == null) {
+            session = delegate.getSession(key);
+
+            if(session != null) {
+                sessionValues.put(key, session);
+            }
+        }
+
+        return session;
+    }
+
+    @Override
+    public void delete(String key) {
+        delegate.delete(key);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+        delegate.expire(key, timeout);
+        publishInvalidation(key);
+    }
+
+    /**
+     * 만료 연장은 값을 바꾸지 않으므로 로컬 캐시를 무효화하지 않는다.
+     */
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+        delegate.expireAll(keys, timeout);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return values.getIfPresent(key) != null || delegate.hasKey(key);
+    }
+
+    /**
+     * 세션이 없는 경우(NOT_FOUND)는 로그인 직후 생성될 수 있으므로 캐시하지 않는다.
+     * serverCode 가 없으면 어떤 세션에도 포함될 수 없으므로 조회 없이 FORBIDDEN 이다.
+     */
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+
+        if(serverCode == null) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        Map<String, SessionStatus> statuses = sessions.getIfPresent(key);
+        SessionStatus status = statuses == null ? null : statuses.get(serverCode);
+
+        if(status == null) {
+            status = delegate.checkSession(key, serverCode);
+
+            if(status != SessionStatus.NOT_FOUND && status.isResolved()) {
+                sessions.get(key, k -> new ConcurrentHashMap<>()).put(serverCode, status);
+            }
+        }
+
+        return status;
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<SessionStatus> statuses = new ArrayList<>(keys.size());
+        List<Integer> misses = new ArrayList<>();
+        List<String> missKeys = new ArrayList<>();
+        List<String> missServerCodes = new ArrayList<>();
+
+        for(int i = 0; i < keys.size(); i++) {
+
+            if(serverCodes.get(i) == null) {
+                statuses.add(SessionStatus.FORBIDDEN);
+                continue;
+            }
+
+            Map<String, SessionStatus> cached = sessions.getIfPresent(keys.get(i));
+            SessionStatus status = cached == null ? null : cached.get(serverCodes.get(i));
+            statuses.add(status);
+
+            if(status == null) {
+                misses.add(i);
+                missKeys.add(keys.get(i));
+                missServerCodes.add(serverCodes.get(i));
+            }
+        }
+
+        if(!misses.isEmpty()) {
+
+            List<SessionStatus> loaded = delegate.checkSessions(missKeys, missServerCodes);
+
+            for(int i = 0; i < misses.size(); i++) {
+
+                SessionStatus status = loaded.get(i);
+                statuses.set(misses.get(i), status);
+
+                if(status != SessionStatus.NOT_FOUND && status.isResolved()) {
+                    sessions.get(missKeys.get(i), k -> new ConcurrentHashMap<>()).put(missServerCodes.get(i), status);
+                }
+            }
+        }
+
+        return statuses;
+    }
+
+    public void invalidate(String key) {
+        values.invalidate(key);
+        sessionValues.invalidate(key);
+        sessions.invalidate(key);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void publishInvalidation(String key) {
+        invalidate(key);
+        redisTemplate.convertAndSend(invalidationChannel, key);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 연속 실패 횟수 기반 회로 차단기
+ * failureThreshold 회 연속 실패하면 OPEN 이 되고, openDuration 이 지나면 호출 하나만 통과시켜(HALF_OPEN)
+ * 성공하면 CLOSED, 실패하면 다시 OPEN 이 된다.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private volatile long openedAt;
+    private volatile long degradedSince;
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    /**
+     * 호출 가능 여부, OPEN 상태에서 대기 시간이 지나면 한 호출만 허용한다.
+     */
+    boolean tryAcquire() {
+
+        State current = state.get();
+
+        if(current == State.CLOSED) {
+            return true;
+        }
+
+        return current == State.OPEN && System.nanoTime() - openedAt >= openNanos && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    void onSuccess() {
+
+        failures.set(0);
+
+        if(state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("{} circuit closed", name);
+        }
+    }
+
+    void onFailure() {
+
+        if(state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+            openedAt = System.nanoTime();
+            return;
+        }
+
+        if(failures.incrementAndGet() >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            openedAt = System.nanoTime();
+            degradedSince = openedAt;
+            log.warn("{} circuit opened after {} consecutive failures", name, failureThreshold);
+        }
+    }
+
+    /**
+     * 성공/실패를 판단할 수 없는 호출, HALF_OPEN 이면 다음 호출이 다시 확인하도록 OPEN 으로 되돌린다.
+     */
+    void release() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    /**
+     * 마지막으로 CLOSED 에서 벗어나(OPEN) 지난 시간, CLOSED 상태면 -1
+     */
+    long degradedNanos() {
+        return state.get() == State.CLOSED ? -1L : System.nanoTime() - degradedSince;
+    }
+
+}
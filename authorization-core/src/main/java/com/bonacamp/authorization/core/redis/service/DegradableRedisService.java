@@ -0,0 +1,290 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Redis 장애 시 요청 스레드가 묶이지 않도록 하는 RedisService
+ * 호출은 제한된 스레드 풀에서 timeout 안에 수행하며, 실패가 이어지면 회로를 열어 Redis 를 호출하지 않는다.
+ * 세션 확인(checkSession)이 실패하면 fallback 정책으로 상태를 결정하고, 그 밖의 연산은 예외를 그대로 전달한다.
+ * fallback 으로 결정한 상태는 SessionStatus.isDegraded 로 구분되며 어느 캐시에도 기록하지 않는다.
+ * 서명 검증만으로 허용하는 SIGNATURE_ONLY 는 회로가 열려 있는 동안, 열린 시점부터 signatureOnlyFor 까지만 적용한다.
+ * 현재 상태는 getMode 와 authorization.redis.mode gauge 로 확인할 수 있다.
+ */
+public class DegradableRedisService implements RedisService, AutoCloseable {
+
+    public enum Mode {
+        NORMAL, PROBING, DEGRADED
+    }
+
+    private final RedisService delegate;
+    private final AuthorizationProperties.Degradation properties;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final Cache<String, SessionStatus> lastKnown;
+
+    public DegradableRedisService(RedisService delegate, AuthorizationProperties.Degradation properties, AuthorizationMetrics metrics) {
+
+        this.delegate = delegate;
+        this.properties = properties;
+        this.circuitBreaker = new CircuitBreaker("redis", properties.getFailureThreshold(), properties.getOpenDuration());
+        this.timeoutNanos = properties.getTimeout() == null ? 0L : properties.getTimeout().toNanos();
+        this.executor = timeoutNanos > 0 ? newExecutor(properties.getMaxConcurrentCalls()) : null;
+        this.lastKnown = properties.getFallback() == AuthorizationProperties.Fallback.REJECT ? null : Caffeine.newBuilder()
+                .maximumSize(properties.getLastKnownMaximumSize())
+                .expireAfterWrite(properties.getLastKnownTtl())
+                .build();
+
+        metrics.redisModeGauge(() -> getMode().ordinal());
+    }
+
+    public Mode getMode() {
+
+        switch (circuitBreaker.getState()) {
+            case OPEN:
+                return Mode.DEGRADED;
+            case HALF_OPEN:
+                return Mode.PROBING;
+            default:
+                return Mode.NORMAL;
+        }
+    }
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        call(() -> {
+            delegate.setValue(key, data, duration);
+            return null;
+        });
+    }
+
+    @Override
+    public Object getValue(String key) {
+        return call(() -> delegate.getValue(key));
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        call(() -> {
+            delegate.setSession(key, session, duration);
+            return null;
+        });
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+        return call(() -> delegate.getSession(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        call(() -> {
+            delegate.delete(key);
+            return null;
+        });
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+        call(() -> {
+            delegate.expire(key, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+        call(() -> {
+            delegate.expireAll(keys, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return call(() -> delegate.hasKey(key));
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+
+        SessionStatus status;
+
+        try {
+            status = call(() -> delegate.checkSession(key, serverCode));
+        } catch (DataAccessException e) {
+            return fallback(key, serverCode);
+        }
+
+        remember(key, serverCode, status);
+
+        return status;
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<SessionStatus> statuses;
+
+        try {
+            statuses = call(() -> delegate.checkSessions(keys, serverCodes));
+        } catch (DataAccessException e) {
+
+            statuses = new ArrayList<>(keys.size());
+
+            for(int i = 0; i < keys.size(); i++) {
+                statuses.add(fallback(keys.get(i), serverCodes.get(i)));
+            }
+
+            return statuses;
+        }
+
+        for(int i = 0; i < keys.size(); i++) {
+            remember(keys.get(i), serverCodes.get(i), statuses.get(i));
+        }
+
+        return statuses;
+    }
+
+    @Override
+    public void close() {
+
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private SessionStatus fallback(String key, String serverCode) {
+
+        if(lastKnown == null) {
+            return SessionStatus.UNAVAILABLE;
+        }
+
+        SessionStatus status = lastKnown.getIfPresent(stateKey(key, serverCode));
+
+        if(status != null) {
+            return status.degraded();
+        }
+
+        long degradedNanos = circuitBreaker.degradedNanos();
+
+        if(properties.getFallback() == AuthorizationProperties.Fallback.SIGNATURE_ONLY
+                && degradedNanos >= 0 && degradedNanos < properties.getSignatureOnlyFor().toNanos()) {
+            return SessionStatus.DEGRADED_AUTHORIZED;
+        }
+
+        return SessionStatus.UNAVAILABLE;
+    }
+
+    private void remember(String key, String serverCode, SessionStatus status) {
+
+        if(lastKnown != null && status.isResolved()) {
+            lastKnown.put(stateKey(key, serverCode), status);
+        }
+    }
+
+    private static String stateKey(String key, String serverCode) {
+        return key + '\n' + serverCode;
+    }
+
+    /**
+     * 회로와 timeout 을 적용해 호출한다.
+     * 응답을 받은 호출만 성공으로, DataAccessException 만 실패로 기록하고 그 밖의 예외는 회로 상태를 바꾸지 않는다.
+     * 동시 호출 제한에 걸린 경우도 Redis 실패가 아니므로 기록하지 않는다.
+     */
+    private <T> T call(Callable<T> operation) {
+
+        if(!circuitBreaker.tryAcquire()) {
+            throw new RedisConnectionFailureException("redis circuit is open");
+        }
+
+        Future<T> future = null;
+
+        if(executor != null) {
+
+            try {
+                future = executor.submit(operation);
+            } catch (RejectedExecutionException e) {
+                circuitBreaker.release();
+                throw new RedisConnectionFailureException("too many concurrent redis calls", e);
+            }
+        }
+
+        T result;
+
+        try {
+            result = future == null ? operation.call() : await(future);
+        } catch (DataAccessException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.release();
+            throw e;
+        } catch (Exception e) {
+            circuitBreaker.release();
+            throw new RedisSystemException(e.getMessage(), e);
+        }
+
+        circuitBreaker.onSuccess();
+
+        return result;
+    }
+
+    private <T> T await(Future<T> future) throws Exception {
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new QueryTimeoutException("redis call exceeded " + properties.getTimeout().toMillis() + "ms", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("interrupted while waiting for redis", e);
+        } catch (ExecutionException e) {
+
+            if(e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(int maxConcurrentCalls) {
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Math.max(1, maxConcurrentCalls), 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "redis-call-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        return executor;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * local-store 사용 시의 AsyncRedisService
+ * 동기 경로와 같은 RedisService(OffHeapRedisService 기반 구성)를 호출하며, 저장소가 I/O 를 기다리지 않으므로
+ * 호출 스레드에서 바로 완료된 결과를 반환한다.
+ */
+@RequiredArgsConstructor
+public class LocalAsyncRedisService implements AsyncRedisService {
+
+    private final RedisService redisService;
+
+    @Override
+    public CompletionStage<Void> setValue(String key, String data, Duration duration) {
+        return run(() -> {
+            redisService.setValue(key, data, duration);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<String> getValue(String key) {
+        return run(() -> toString(redisService.getValue(key)));
+    }
+
+    @Override
+    public CompletionStage<Map<String, String>> getValues(Collection<String> keys) {
+        return run(() -> {
+
+            Map<String, String> values = new LinkedHashMap<>();
+
+            for(String key : keys) {
+
+                String value = toString(redisService.getValue(key));
+
+                if(value != null) {
+                    values.put(key, value);
+                }
+            }
+
+            return values;
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> setSession(String key, SessionValue session, Duration duration) {
+        return run(() -> {
+            redisService.setSession(key, session, duration);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<SessionValue> getSession(String key) {
+        return run(() -> redisService.getSession(key));
+    }
+
+    @Override
+    public CompletionStage<Void> delete(String key) {
+        return run(() -> {
+            redisService.delete(key);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> expire(String key, int timeout) {
+        return run(() -> {
+            redisService.expire(key, timeout);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasKey(String key) {
+        return run(() -> redisService.hasKey(key));
+    }
+
+    @Override
+    public CompletionStage<SessionStatus> checkSession(String key, String serverCode) {
+        return run(() -> redisService.checkSession(key, serverCode));
+    }
+
+    @Override
+    public CompletionStage<List<SessionStatus>> checkSessions(List<String> keys, List<String> serverCodes) {
+        return run(() -> redisService.checkSessions(keys, serverCodes));
+    }
+
+    private static <T> CompletionStage<T> run(Supplier<T> operation) {
+
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String toString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * local-store 사용 시의 ReactiveRedisService
+ * 동기 경로와 같은 RedisService(OffHeapRedisService 기반 구성)를 구독 시점에 호출한다.
+ * 저장소가 I/O 를 기다리지 않으므로 별도 스케줄러로 옮기지 않는다.
+ */
+@RequiredArgsConstructor
+public class LocalReactiveRedisService implements ReactiveRedisService {
+
+    private final RedisService redisService;
+
+    @Override
+    public Mono<String> getValue(String key) {
+        return Mono.fromSupplier(() -> redisService.getValue(key)).map(Object::toString);
+    }
+
+    @Override
+    public Mono<Boolean> hasKey(String key) {
+        return Mono.fromSupplier(() -> redisService.hasKey(key));
+    }
+
+    @Override
+    public Mono<SessionStatus> checkSession(String key, String serverCode) {
+        return Mono.fromSupplier(() -> redisService.checkSession(key, serverCode));
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * RedisService 연산별 지연 시간(histogram) 측정
+ */
+public class MeteredRedisService implements RedisService {
+
+    private final RedisService delegate;
+    private final Timer setValueTimer;
+    private final Timer getValueTimer;
+    private final Timer setSessionTimer;
+    private final Timer getSessionTimer;
+    private final Timer deleteTimer;
+    private final Timer expireTimer;
+    private final Timer expireAllTimer;
+    private final Timer hasKeyTimer;
+    private final Timer checkSessionTimer;
+    private final Timer checkSessionsTimer;
+
+    public MeteredRedisService(RedisService delegate, AuthorizationMetrics metrics) {
+
+        this.delegate = delegate;
+        this.setValueTimer = metrics.redisTimer("setValue");
+        this.getValueTimer = metrics.redisTimer("getValue");
+        this.setSessionTimer = metrics.redisTimer("setSession");
+        this.getSessionTimer = metrics.redisTimer("getSession");
+        this.deleteTimer = metrics.redisTimer("delete");
+        this.expireTimer = metrics.redisTimer("expire");
+        this.expireAllTimer = metrics.redisTimer("expireAll");
+        this.hasKeyTimer = metrics.redisTimer("hasKey");
+        this.checkSessionTimer = metrics.redisTimer("checkSession");
+        this.checkSessionsTimer = metrics.redisTimer("checkSessions");
+    }
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        setValueTimer.record(() -> delegate.setValue(key, data, duration));
+    }
+
+    @Override
+    public Object getValue(String key) {
+        return getValueTimer.record(() -> delegate.getValue(key));
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        setSessionTimer.record(() -> delegate.setSession(key, session, duration));
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+        return getSessionTimer.record(() -> delegate.getSession(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        deleteTimer.record(() -> delegate.delete(key));
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+        expireTimer.record(() -> delegate.expire(key, timeout));
+    }
+
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+        expireAllTimer.record(() -> delegate.expireAll(keys, timeout));
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return hasKeyTimer.record(() -> delegate.hasKey(key));
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+        return checkSessionTimer.record(() -> delegate.checkSession(key, serverCode));
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+        return checkSessionsTimer.record(() -> delegate.checkSessions(keys, serverCodes));
+    }
+
+}
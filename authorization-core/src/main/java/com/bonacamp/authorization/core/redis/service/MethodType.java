@@ -23,6 +23,13 @@ public enum MethodType {
                 .orElseThrow();
     }
 
+    /**
+     * role 권한 비트
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
     private boolean check(String code) {
     	
     	if(value.equals(code)) {
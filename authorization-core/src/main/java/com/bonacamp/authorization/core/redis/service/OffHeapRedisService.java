@@ -0,0 +1,246 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+/**
+ * Redis 없이 단일 노드에서 세션을 보관하는 RedisService
+ * 키와 값은 힙 밖(direct ByteBuffer)에 저장해 세션 수가 많아도 GC 대상 객체가 늘지 않으며,
+ * 만료는 타이밍 휠로 tick 마다 회수하고 조회 시에도 만료 시각을 확인한다(Redis 와 같은 의미).
+ * 값은 Redis 와 같이 바이트로 저장하므로 setValue 로 저장한 기존 JSON 세션도 checkSession 으로 확인된다.
+ * max-memory 이상을 사용하려면 -XX:MaxDirectMemorySize 도 함께 늘려야 한다.
+ */
+public class OffHeapRedisService implements RedisService, AutoCloseable {
+
+    private final OffHeapSegment[] segments;
+    private final int segmentShift;
+    private final ScheduledExecutorService scheduler;
+
+    public OffHeapRedisService(AuthorizationProperties.LocalStore properties) {
+
+        int segmentCount = Integer.highestOneBit(Math.max(1, properties.getSegments()));
+        long tickMillis = Math.max(1, properties.getTick().toMillis());
+        long now = System.currentTimeMillis();
+
+        this.segments = new OffHeapSegment[segmentCount];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+
+        for(int i = 0; i < segmentCount; i++) {
+            segments[i] = new OffHeapSegment(properties.getMaxMemory().toBytes() / segmentCount, tickMillis, now);
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "off-heap-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::expireEntries, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        put(key, data.getBytes(StandardCharsets.UTF_8), duration);
+    }
+
+    @Override
+    public Object getValue(String key) {
+
+        byte[] value = get(key);
+
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        put(key, SessionCodec.toBytes(session), duration);
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+        return SessionCodec.decode(get(key));
+    }
+
+    @Override
+    public void delete(String key) {
+
+        byte[] rawKey = toBytes(key);
+        int hash = hash(rawKey);
+
+        segment(hash).remove(hash, rawKey);
+    }
+
+    /**
+     * Redis PEXPIRE 와 같이 0 이하이면 키를 삭제한다.
+     */
+    @Override
+    public void expire(String key, int timeout) {
+
+        if(timeout <= 0) {
+            delete(key);
+            return;
+        }
+
+        byte[] rawKey = toBytes(key);
+        int hash = hash(rawKey);
+        long now = System.currentTimeMillis();
+
+        segment(hash).expire(hash, rawKey, now + timeout, now);
+    }
+
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+
+        long now = System.currentTimeMillis();
+
+        for(String key : keys) {
+
+            byte[] rawKey = toBytes(key);
+            int hash = hash(rawKey);
+
+            segment(hash).extend(hash, rawKey, now + timeout, now);
+        }
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+
+        byte[] rawKey = toBytes(key);
+        int hash = hash(rawKey);
+
+        return segment(hash).contains(hash, rawKey, System.currentTimeMillis());
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+
+        if(serverCode == null) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        SessionValue session;
+
+        try {
+            session = getSession(key);
+        } catch (IllegalArgumentException e) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        if(session == null) {
+            return SessionStatus.NOT_FOUND;
+        }
+
+        return session.contains(serverCode) ? SessionStatus.AUTHORIZED : SessionStatus.FORBIDDEN;
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<SessionStatus> statuses = new ArrayList<>(keys.size());
+
+        for(int i = 0; i < keys.size(); i++) {
+            statuses.add(checkSession(keys.get(i), serverCodes.get(i)));
+        }
+
+        return statuses;
+    }
+
+    public int size() {
+
+        int size = 0;
+
+        for(OffHeapSegment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    public long allocatedBytes() {
+
+        long bytes = 0;
+
+        for(OffHeapSegment segment : segments) {
+            bytes += segment.allocatedBytes();
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    void expireEntries() {
+
+        long now = System.currentTimeMillis();
+
+        for(OffHeapSegment segment : segments) {
+            segment.advance(now);
+        }
+    }
+
+    /**
+     * Redis SET PX 와 같이 만료 시간은 0 보다 커야 한다.
+     */
+    private void put(String key, byte[] value, Duration duration) {
+
+        if(duration == null || duration.toMillis() <= 0) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+
+        byte[] rawKey = toBytes(key);
+        int hash = hash(rawKey);
+
+        if(!segment(hash).put(hash, rawKey, value, System.currentTimeMillis() + duration.toMillis())) {
+            throw new IllegalStateException("off-heap session store is full");
+        }
+    }
+
+    private byte[] get(String key) {
+
+        byte[] rawKey = toBytes(key);
+        int hash = hash(rawKey);
+
+        return segment(hash).get(hash, rawKey, System.currentTimeMillis());
+    }
+
+    /**
+     * 상위 비트는 세그먼트, 하위 비트는 세그먼트 인덱스 슬롯 선택에 사용한다.
+     */
+    private OffHeapSegment segment(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private static byte[] toBytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] key) {
+
+        int hash = 0x811C9DC5;
+
+        for(byte b : key) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+
+        return hash;
+    }
+
+}
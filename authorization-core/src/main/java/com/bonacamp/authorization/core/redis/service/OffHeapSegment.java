@@ -0,0 +1,546 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OffHeapRedisService 의 세그먼트
+ * 항목은 1MB direct ByteBuffer 청크에 2의 거듭제곱 크기 블록으로 저장하고(크기별 free list 재사용),
+ * 키 인덱스는 direct ByteBuffer 의 open addressing(linear probing) 해시 테이블이다.
+ * 만료는 6 단계 x 64 슬롯 계층형 타이밍 휠로 처리하며, 휠의 연결 리스트도 항목 헤더에 저장해 힙을 사용하지 않는다.
+ * 모든 메서드는 세그먼트 단위로 동기화된다.
+ *
+ * 항목 헤더 : prev(4) next(4) expireAt(8) hash(4) keyLength(4) valueLength(4) bucket(4), 이후 key, value
+ */
+final class OffHeapSegment {
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int MAX_CHUNKS = 2047;
+    private static final int MIN_BLOCK_SHIFT = 6;
+
+    private static final int PREV = 0;
+    private static final int NEXT = 4;
+    private static final int EXPIRE_AT = 8;
+    private static final int HASH = 16;
+    private static final int KEY_LENGTH = 20;
+    private static final int VALUE_LENGTH = 24;
+    private static final int BUCKET = 28;
+    private static final int HEADER = 32;
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WHEEL_LEVELS = 6;
+
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+    private static final int MAX_INDEX_CAPACITY = 1 << 27;
+
+    private final int maxChunks;
+    private final long tickMillis;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final int[] freeLists = new int[CHUNK_SHIFT - MIN_BLOCK_SHIFT + 1];
+    private final int[] wheel = new int[WHEEL_LEVELS * WHEEL_SIZE];
+    private int bumpOffset = CHUNK_SIZE;
+
+    private ByteBuffer index;
+    private int indexMask;
+    private int size;
+    private long currentTick;
+
+    OffHeapSegment(long maxBytes, long tickMillis, long now) {
+        this.maxChunks = (int) Math.max(1, Math.min(MAX_CHUNKS, maxBytes >> CHUNK_SHIFT));
+        this.tickMillis = tickMillis;
+        this.currentTick = now / tickMillis;
+        this.index = ByteBuffer.allocateDirect(INITIAL_INDEX_CAPACITY * 8);
+        this.indexMask = INITIAL_INDEX_CAPACITY - 1;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized long allocatedBytes() {
+        return (long) chunks.size() * CHUNK_SIZE + index.capacity();
+    }
+
+    /**
+     * @return 저장 공간이 부족하면 false
+     */
+    synchronized boolean put(int hash, byte[] key, byte[] value, long expireAt) {
+
+        int length = HEADER + key.length + value.length;
+
+        if(length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("entry too large : " + length + " bytes");
+        }
+
+        int slot = findSlot(hash, key);
+
+        if(slot >= 0) {
+
+            int address = slotAddress(slot);
+
+            if(sizeClass(blockLength(address)) == sizeClass(length)) {
+                wheelRemove(address);
+                writeEntry(address, hash, key, value, expireAt);
+                wheelInsert(address);
+                return true;
+            }
+
+            int replacement = allocate(length);
+
+            if(replacement == 0) {
+                return false;
+            }
+
+            writeEntry(replacement, hash, key, value, expireAt);
+            wheelRemove(address);
+            free(address);
+            index.putInt(slot * 8 + 4, replacement);
+            wheelInsert(replacement);
+            return true;
+        }
+
+        int address = allocate(length);
+
+        if(address == 0) {
+            return false;
+        }
+
+        writeEntry(address, hash, key, value, expireAt);
+
+        if(size + 1 > (indexMask + 1) * 3L / 4 && indexMask + 1 < MAX_INDEX_CAPACITY) {
+            resize();
+        }
+
+        insertSlot(hash, address);
+        wheelInsert(address);
+        size++;
+
+        return true;
+    }
+
+    synchronized byte[] get(int hash, byte[] key, long now) {
+
+        int slot = liveSlot(hash, key, now);
+
+        if(slot < 0) {
+            return null;
+        }
+
+        int address = slotAddress(slot);
+        int keyLength = getInt(address + KEY_LENGTH);
+        byte[] value = new byte[getInt(address + VALUE_LENGTH)];
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address) + HEADER + keyLength;
+
+        for(int i = 0; i < value.length; i++) {
+            value[i] = chunk.get(offset + i);
+        }
+
+        return value;
+    }
+
+    synchronized boolean contains(int hash, byte[] key, long now) {
+        return liveSlot(hash, key, now) >= 0;
+    }
+
+    synchronized boolean remove(int hash, byte[] key) {
+
+        int slot = findSlot(hash, key);
+
+        if(slot < 0) {
+            return false;
+        }
+
+        removeEntry(slot);
+
+        return true;
+    }
+
+    synchronized boolean expire(int hash, byte[] key, long expireAt, long now) {
+
+        int slot = liveSlot(hash, key, now);
+
+        if(slot < 0) {
+            return false;
+        }
+
+        int address = slotAddress(slot);
+
+        wheelRemove(address);
+        putLong(address + EXPIRE_AT, expireAt);
+        wheelInsert(address);
+
+        return true;
+    }
+
+    /**
+     * 만료 시각이 expireAt 보다 이를 때만 expireAt 으로 늦춘다.
+     */
+    synchronized boolean extend(int hash, byte[] key, long expireAt, long now) {
+
+        int slot = liveSlot(hash, key, now);
+
+        if(slot < 0) {
+            return false;
+        }
+
+        int address = slotAddress(slot);
+
+        if(getLong(address + EXPIRE_AT) >= expireAt) {
+            return false;
+        }
+
+        wheelRemove(address);
+        putLong(address + EXPIRE_AT, expireAt);
+        wheelInsert(address);
+
+        return true;
+    }
+
+    /**
+     * 현재 시각까지 타이밍 휠을 진행하며 만료된 항목을 제거한다.
+     */
+    synchronized void advance(long now) {
+
+        long targetTick = now / tickMillis;
+
+        while(currentTick < targetTick) {
+
+            currentTick++;
+
+            for(int level = 1; level < WHEEL_LEVELS; level++) {
+
+                if((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+
+                int address = detach(level * WHEEL_SIZE + (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+
+                while(address != 0) {
+                    int next = getInt(address + NEXT);
+                    wheelInsert(address);
+                    address = next;
+                }
+            }
+
+            int address = detach((int) (currentTick & WHEEL_MASK));
+
+            while(address != 0) {
+
+                int next = getInt(address + NEXT);
+
+                if(getLong(address + EXPIRE_AT) < now) {
+                    removeSlot(addressSlot(address));
+                    free(address);
+                    size--;
+                }
+                else {
+                    wheelInsert(address);
+                }
+
+                address = next;
+            }
+        }
+    }
+
+    /**
+     * 만료되지 않은 항목의 슬롯, 만료된 항목은 바로 제거한다.
+     */
+    private int liveSlot(int hash, byte[] key, long now) {
+
+        int slot = findSlot(hash, key);
+
+        if(slot >= 0 && getLong(slotAddress(slot) + EXPIRE_AT) < now) {
+            removeEntry(slot);
+            return -1;
+        }
+
+        return slot;
+    }
+
+    private void removeEntry(int slot) {
+
+        int address = slotAddress(slot);
+
+        wheelRemove(address);
+        removeSlot(slot);
+        free(address);
+        size--;
+    }
+
+    private void writeEntry(int address, int hash, byte[] key, byte[] value, long expireAt) {
+
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+
+        chunk.putLong(offset + EXPIRE_AT, expireAt);
+        chunk.putInt(offset + HASH, hash);
+        chunk.putInt(offset + KEY_LENGTH, key.length);
+        chunk.putInt(offset + VALUE_LENGTH, value.length);
+
+        int position = offset + HEADER;
+
+        for(byte b : key) {
+            chunk.put(position++, b);
+        }
+
+        for(byte b : value) {
+            chunk.put(position++, b);
+        }
+    }
+
+    private boolean keyEquals(int address, byte[] key) {
+
+        if(getInt(address + KEY_LENGTH) != key.length) {
+            return false;
+        }
+
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address) + HEADER;
+
+        for(int i = 0; i < key.length; i++) {
+
+            if(chunk.get(offset + i) != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /* ---------------- index ---------------- */
+
+    private int findSlot(int hash, byte[] key) {
+
+        int slot = hash & indexMask;
+
+        while(true) {
+
+            int address = slotAddress(slot);
+
+            if(address == 0) {
+                return -1;
+            }
+
+            if(index.getInt(slot * 8) == hash && keyEquals(address, key)) {
+                return slot;
+            }
+
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    private int addressSlot(int address) {
+
+        int slot = getInt(address + HASH) & indexMask;
+
+        while(slotAddress(slot) != address) {
+            slot = (slot + 1) & indexMask;
+        }
+
+        return slot;
+    }
+
+    private void insertSlot(int hash, int address) {
+
+        int slot = hash & indexMask;
+
+        while(slotAddress(slot) != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+
+        index.putInt(slot * 8, hash);
+        index.putInt(slot * 8 + 4, address);
+    }
+
+    /**
+     * backward shift deletion, 삭제 표시(tombstone) 없이 뒤따르는 항목을 당긴다.
+     */
+    private void removeSlot(int slot) {
+
+        int hole = slot;
+        int next = (hole + 1) & indexMask;
+
+        while(slotAddress(next) != 0) {
+
+            int ideal = index.getInt(next * 8) & indexMask;
+
+            if(((next - ideal) & indexMask) >= ((next - hole) & indexMask)) {
+                index.putInt(hole * 8, index.getInt(next * 8));
+                index.putInt(hole * 8 + 4, slotAddress(next));
+                hole = next;
+            }
+
+            next = (next + 1) & indexMask;
+        }
+
+        index.putInt(hole * 8, 0);
+        index.putInt(hole * 8 + 4, 0);
+    }
+
+    private void resize() {
+
+        ByteBuffer previous = index;
+        int previousCapacity = indexMask + 1;
+
+        index = ByteBuffer.allocateDirect(previousCapacity * 2 * 8);
+        indexMask = previousCapacity * 2 - 1;
+
+        for(int slot = 0; slot < previousCapacity; slot++) {
+
+            int address = previous.getInt(slot * 8 + 4);
+
+            if(address != 0) {
+                insertSlot(previous.getInt(slot * 8), address);
+            }
+        }
+    }
+
+    private int slotAddress(int slot) {
+        return index.getInt(slot * 8 + 4);
+    }
+
+    /* ---------------- allocator ---------------- */
+
+    /**
+     * @return 블록 주소, 공간이 없으면 0 (첫 청크의 0 번지는 사용하지 않는다)
+     */
+    private int allocate(int length) {
+
+        int sizeClass = sizeClass(length);
+        int address = freeLists[sizeClass];
+
+        if(address != 0) {
+            freeLists[sizeClass] = getInt(address + NEXT);
+            return address;
+        }
+
+        int blockSize = 1 << (sizeClass + MIN_BLOCK_SHIFT);
+
+        if(bumpOffset + blockSize > CHUNK_SIZE) {
+
+            if(chunks.size() >= maxChunks) {
+                return 0;
+            }
+
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+            bumpOffset = chunks.size() == 1 ? 1 << MIN_BLOCK_SHIFT : 0;
+        }
+
+        address = ((chunks.size() - 1) << CHUNK_SHIFT) | bumpOffset;
+        bumpOffset += blockSize;
+
+        return address;
+    }
+
+    private void free(int address) {
+
+        int sizeClass = sizeClass(blockLength(address));
+
+        putInt(address + NEXT, freeLists[sizeClass]);
+        freeLists[sizeClass] = address;
+    }
+
+    private int blockLength(int address) {
+        return HEADER + getInt(address + KEY_LENGTH) + getInt(address + VALUE_LENGTH);
+    }
+
+    private static int sizeClass(int length) {
+        return Math.max(0, 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_BLOCK_SHIFT);
+    }
+
+    /* ---------------- timing wheel ---------------- */
+
+    private void wheelInsert(int address) {
+
+        long expireTick = (getLong(address + EXPIRE_AT) + tickMillis - 1) / tickMillis;
+        long delta = expireTick - currentTick;
+        int bucket;
+
+        if(delta <= 0) {
+            bucket = (int) ((currentTick + 1) & WHEEL_MASK);
+        }
+        else {
+
+            int level = 0;
+
+            while(level < WHEEL_LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+                level++;
+            }
+
+            if(delta >= 1L << (WHEEL_BITS * WHEEL_LEVELS)) {
+                expireTick = currentTick + (1L << (WHEEL_BITS * WHEEL_LEVELS)) - 1;
+            }
+
+            bucket = level * WHEEL_SIZE + (int) ((expireTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        }
+
+        int head = wheel[bucket];
+
+        putInt(address + PREV, 0);
+        putInt(address + NEXT, head);
+        putInt(address + BUCKET, bucket);
+
+        if(head != 0) {
+            putInt(head + PREV, address);
+        }
+
+        wheel[bucket] = address;
+    }
+
+    private void wheelRemove(int address) {
+
+        int prev = getInt(address + PREV);
+        int next = getInt(address + NEXT);
+
+        if(prev != 0) {
+            putInt(prev + NEXT, next);
+        }
+        else {
+            wheel[getInt(address + BUCKET)] = next;
+        }
+
+        if(next != 0) {
+            putInt(next + PREV, prev);
+        }
+    }
+
+    private int detach(int bucket) {
+
+        int head = wheel[bucket];
+        wheel[bucket] = 0;
+
+        return head;
+    }
+
+    /* ---------------- memory ---------------- */
+
+    private ByteBuffer chunk(int address) {
+        return chunks.get(address >>> CHUNK_SHIFT);
+    }
+
+    private static int offset(int address) {
+        return address & (CHUNK_SIZE - 1);
+    }
+
+    private int getInt(int address) {
+        return chunk(address).getInt(offset(address));
+    }
+
+    private void putInt(int address, int value) {
+        chunk(address).putInt(offset(address), value);
+    }
+
+    private long getLong(int address) {
+        return chunk(address).getLong(offset(address));
+    }
+
+    private void putLong(int address, long value) {
+        chunk(address).putLong(offset(address), value);
+    }
+
+}
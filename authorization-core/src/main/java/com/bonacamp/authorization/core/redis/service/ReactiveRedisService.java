@@ -0,0 +1,13 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRedisService {
+
+    Mono<String> getValue(String key);
+
+    Mono<Boolean> hasKey(String key);
+
+    Mono<SessionStatus> checkSession(String key, String serverCode);
+
+}
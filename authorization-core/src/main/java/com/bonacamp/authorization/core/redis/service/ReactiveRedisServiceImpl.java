@@ -0,0 +1,114 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@ConditionalOnProperty(prefix = "authorization.local-store", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Service
+@RequiredArgsConstructor
+public class ReactiveRedisServiceImpl implements ReactiveRedisService {
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final AuthorizationProperties authorizationProperties;
+    private final SessionKeys sessionKeys;
+
+    @Override
+    public Mono<String> getValue(String key) {
+
+        Mono<String> value = reactiveStringRedisTemplate.opsForValue().get(sessionKeys.key(key));
+
+        if(!sessionKeys.isDualRead()) {
+            return value;
+        }
+
+        return value.switchIfEmpty(Mono.defer(() -> reactiveStringRedisTemplate.opsForValue().get(key)));
+    }
+
+    @Override
+    public Mono<Boolean> hasKey(String key) {
+
+        Mono<Boolean> exists = reactiveStringRedisTemplate.hasKey(sessionKeys.key(key));
+
+        if(!sessionKeys.isDualRead()) {
+            return exists;
+        }
+
+        return exists.flatMap(found -> found ? Mono.just(true) : reactiveStringRedisTemplate.hasKey(key));
+    }
+
+    /**
+     * RedisServiceImpl 과 같이 EVALSHA 로 확인하고, 복제본 읽기를 사용하면 GET 후 로컬에서 확인한다.
+     */
+    @Override
+    public Mono<SessionStatus> checkSession(String key, String serverCode) {
+
+        if(serverCode == null) {
+            return Mono.just(SessionStatus.FORBIDDEN);
+        }
+
+        Mono<SessionStatus> status = checkSessionKey(sessionKeys.key(key), serverCode);
+
+        if(!sessionKeys.isDualRead()) {
+            return status;
+        }
+
+        return status.flatMap(found -> found != SessionStatus.NOT_FOUND ? Mono.just(found) : checkSessionKey(key, serverCode));
+    }
+
+    private Mono<SessionStatus> checkSessionKey(String key, String serverCode) {
+
+        if(authorizationProperties.getRedis().isReplicaRead()) {
+
+            ByteBuffer rawKey = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+
+            return reactiveStringRedisTemplate.execute((ReactiveRedisCallback<ByteBuffer>) connection -> connection.stringCommands().get(rawKey))
+                    .next()
+                    .map(value -> toSessionStatus(toBytes(value), serverCode))
+                    .defaultIfEmpty(SessionStatus.NOT_FOUND);
+        }
+
+        return reactiveStringRedisTemplate.execute(SessionScripts.CHECK_SESSION, Collections.singletonList(key), Collections.singletonList(serverCode))
+                .next()
+                .map(SessionStatus::of)
+                .defaultIfEmpty(SessionStatus.NOT_FOUND);
+    }
+
+    private SessionStatus toSessionStatus(byte[] value, String serverCode) {
+
+        SessionValue session;
+
+        try {
+            session = SessionCodec.decode(value);
+        } catch (IllegalArgumentException e) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        if(session == null) {
+            return SessionStatus.NOT_FOUND;
+        }
+
+        return session.contains(serverCode) ? SessionStatus.AUTHORIZED : SessionStatus.FORBIDDEN;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        return bytes;
+    }
+
+}
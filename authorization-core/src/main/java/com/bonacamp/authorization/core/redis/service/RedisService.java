@@ -1,6 +1,10 @@
 package com.bonacamp.authorization.core.redis.service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
 
 public interface RedisService {
 	
@@ -8,10 +12,29 @@ public interface RedisService {
 
     Object getValue(String key);
 
+    void setSession(String key, SessionValue session, Duration duration);
+
+    SessionValue getSession(String key);
+
     void delete(String key);
 
     void expire(String key, int timeout);
 
+    /**
+     * 여러 키의 만료 시간(ms)을 연장한다. 남은 만료 시간이 더 긴 키는 줄이지 않으며, 구현체는 가능하면 한 번의 왕복(pipeline)으로 처리한다.
+     * 기본 구현은 expire 를 반복하므로 만료 시간을 줄일 수 있다.
+     */
+    default void expireAll(Collection<String> keys, int timeout) {
+
+        for(String key : keys) {
+            expire(key, timeout);
+        }
+    }
+
     boolean hasKey(String key);
+
+    SessionStatus checkSession(String key, String serverCode);
+
+    List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes);
 	
 }
@@ -1,12 +1,26 @@
 package com.bonacamp.authorization.core.redis.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionCodec;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -14,6 +28,8 @@ import lombok.RequiredArgsConstructor;
 public class RedisServiceImpl implements RedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, SessionValue> sessionRedisTemplate;
+    private final AuthorizationProperties authorizationProperties;
     
     @Override
     public void setValue(String key, String data, Duration duration) {
@@ -26,6 +42,16 @@ public class RedisServiceImpl implements RedisService {
         return redisTemplate.opsForValue().get(key);
     }
     
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        sessionRedisTemplate.opsForValue().set(key, session, duration);
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+        return sessionRedisTemplate.opsForValue().get(key);
+    }
+    
     @Override
     public void delete(String key) {
         redisTemplate.delete(key);
@@ -36,9 +62,201 @@ public class RedisServiceImpl implements RedisService {
         redisTemplate.expire(key, timeout, TimeUnit.MILLISECONDS);
     }
     
+    /**
+     * 남은 만료 시간이 timeout 보다 짧을 때만 PEXPIRE 하는 스크립트(EVALSHA)를 하나의 파이프라인으로 보낸다.
+     * 스크립트가 로드되지 않은 경우(NOSCRIPT) SCRIPT LOAD 후 한 번 재시도하며, 스크립트는 연장만 하므로 재실행해도 안전하다.
+     */
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+
+        if(keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            pipelineExtendExpire(keys, timeout);
+        } catch (DataAccessException e) {
+
+            if(!isNoScriptError(e)) {
+                throw e;
+            }
+
+            loadScript(SessionScripts.EXTEND_EXPIRE);
+            pipelineExtendExpire(keys, timeout);
+        }
+    }
+
+    private void pipelineExtendExpire(Collection<String> keys, int timeout) {
+
+        String sha = SessionScripts.EXTEND_EXPIRE.getSha1();
+        byte[] rawTimeout = toBytes(Integer.toString(timeout));
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+
+            for(String key : keys) {
+                connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 1, toBytes(key), rawTimeout);
+            }
+
+            return null;
+        });
+    }
+
     @Override
     public boolean hasKey(String key) {
         return redisTemplate.hasKey(key);
     }
 
-}
\ No newline at end of file
+    /**
+     * 세션 존재 여부와 serverCode 포함 여부를 한 번의 EVALSHA 호출로 확인한다.
+     * 복제본 읽기를 사용하는 경우 스크립트는 primary 에서만 실행되므로 GET 후 로컬에서 확인한다.
+     * serverCode 가 없으면 어떤 세션에도 포함될 수 없으므로 조회 없이 FORBIDDEN 이다.
+     */
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+
+        if(serverCode == null) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        if(authorizationProperties.getRedis().isReplicaRead()) {
+            return toSessionStatus(sessionRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(toBytes(key))), serverCode);
+        }
+
+        return SessionStatus.of(redisTemplate.execute(SessionScripts.CHECK_SESSION, Collections.singletonList(key), serverCode));
+    }
+
+    /**
+     * 여러 세션을 하나의 파이프라인(EVALSHA)으로 확인한다.
+     * 스크립트가 로드되지 않은 경우(NOSCRIPT) SCRIPT LOAD 후 한 번 재시도한다.
+     * serverCode 가 없는 항목은 보내지 않고 FORBIDDEN 으로 채우므로 나머지 항목의 결과에 영향을 주지 않는다.
+     */
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<String> validKeys = new ArrayList<>(keys.size());
+        List<String> validServerCodes = new ArrayList<>(keys.size());
+
+        for(int i = 0; i < keys.size(); i++) {
+
+            if(serverCodes.get(i) != null) {
+                validKeys.add(keys.get(i));
+                validServerCodes.add(serverCodes.get(i));
+            }
+        }
+
+        if(validKeys.size() == keys.size()) {
+            return checkValidSessions(keys, serverCodes);
+        }
+
+        Iterator<SessionStatus> checked = validKeys.isEmpty()
+                ? Collections.emptyIterator() : checkValidSessions(validKeys, validServerCodes).iterator();
+        List<SessionStatus> statuses = new ArrayList<>(keys.size());
+
+        for(String serverCode : serverCodes) {
+            statuses.add(serverCode == null ? SessionStatus.FORBIDDEN : checked.next());
+        }
+
+        return statuses;
+    }
+
+    private List<SessionStatus> checkValidSessions(List<String> keys, List<String> serverCodes) {
+
+        if(authorizationProperties.getRedis().isReplicaRead()) {
+            return multiGetCheckSessions(keys, serverCodes);
+        }
+
+        try {
+            return pipelineCheckSessions(keys, serverCodes);
+        } catch (DataAccessException e) {
+
+            if(!isNoScriptError(e)) {
+                throw e;
+            }
+
+            loadScript(SessionScripts.CHECK_SESSION);
+
+            return pipelineCheckSessions(keys, serverCodes);
+        }
+    }
+
+    private void loadScript(RedisScript<?> redisScript) {
+
+        byte[] script = redisScript.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands().scriptLoad(script));
+    }
+
+    private List<SessionStatus> pipelineCheckSessions(List<String> keys, List<String> serverCodes) {
+
+        String sha = SessionScripts.CHECK_SESSION.getSha1();
+
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+
+            for(int i = 0; i < keys.size(); i++) {
+                connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 1,
+                        toBytes(keys.get(i)), toBytes(serverCodes.get(i)));
+            }
+
+            return null;
+        });
+
+        List<SessionStatus> statuses = new ArrayList<>(replies.size());
+
+        for(Object reply : replies) {
+            statuses.add(SessionStatus.of((Long) reply));
+        }
+
+        return statuses;
+    }
+
+    private List<SessionStatus> multiGetCheckSessions(List<String> keys, List<String> serverCodes) {
+
+        byte[][] rawKeys = new byte[keys.size()][];
+
+        for(int i = 0; i < keys.size(); i++) {
+            rawKeys[i] = toBytes(keys.get(i));
+        }
+
+        List<byte[]> values = sessionRedisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+        List<SessionStatus> statuses = new ArrayList<>(keys.size());
+
+        for(int i = 0; i < keys.size(); i++) {
+            statuses.add(toSessionStatus(values == null ? null : values.get(i), serverCodes.get(i)));
+        }
+
+        return statuses;
+    }
+
+    private SessionStatus toSessionStatus(byte[] value, String serverCode) {
+
+        SessionValue session;
+
+        try {
+            session = SessionCodec.decode(value);
+        } catch (IllegalArgumentException e) {
+            return SessionStatus.FORBIDDEN;
+        }
+
+        if(session == null) {
+            return SessionStatus.NOT_FOUND;
+        }
+
+        return session.contains(serverCode) ? SessionStatus.AUTHORIZED : SessionStatus.FORBIDDEN;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private boolean isNoScriptError(Throwable e) {
+
+        for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+
+            if(cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
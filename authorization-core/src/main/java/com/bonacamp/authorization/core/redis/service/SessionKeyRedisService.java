@@ -0,0 +1,156 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 토큰 대신 SessionKeys 의 다이제스트 키로 Redis 를 조회하는 RedisService
+ * 쓰기는 다이제스트 키에만 하며, DUAL 모드에서는 조회 결과가 없을 때 기존 토큰 키를 다시 조회하고
+ * 삭제/만료는 두 키 모두에 적용한다.
+ */
+@RequiredArgsConstructor
+public class SessionKeyRedisService implements RedisService {
+
+    private final RedisService delegate;
+    private final SessionKeys sessionKeys;
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        delegate.setValue(sessionKeys.key(key), data, duration);
+    }
+
+    @Override
+    public Object getValue(String key) {
+
+        Object value = delegate.getValue(sessionKeys.key(key));
+
+        if(value == null && sessionKeys.isDualRead()) {
+            value = delegate.getValue(key);
+        }
+
+        return value;
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        delegate.setSession(sessionKeys.key(key), session, duration);
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+
+        SessionValue session = delegate.getSession(sessionKeys.key(key));
+
+        if(session == null && sessionKeys.isDualRead()) {
+            session = delegate.getSession(key);
+        }
+
+        return session;
+    }
+
+    @Override
+    public void delete(String key) {
+
+        delegate.delete(sessionKeys.key(key));
+
+        if(sessionKeys.isDualRead()) {
+            delegate.delete(key);
+        }
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+
+        delegate.expire(sessionKeys.key(key), timeout);
+
+        if(sessionKeys.isDualRead()) {
+            delegate.expire(key, timeout);
+        }
+    }
+
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+
+        List<String> sessionKeyList = new ArrayList<>(sessionKeys.isDualRead() ? keys.size() * 2 : keys.size());
+
+        for(String key : keys) {
+
+            sessionKeyList.add(sessionKeys.key(key));
+
+            if(sessionKeys.isDualRead()) {
+                sessionKeyList.add(key);
+            }
+        }
+
+        delegate.expireAll(sessionKeyList, timeout);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return delegate.hasKey(sessionKeys.key(key)) || (sessionKeys.isDualRead() && delegate.hasKey(key));
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+
+        SessionStatus status = delegate.checkSession(sessionKeys.key(key), serverCode);
+
+        if(status == SessionStatus.NOT_FOUND && sessionKeys.isDualRead()) {
+            status = delegate.checkSession(key, serverCode);
+        }
+
+        return status;
+    }
+
+    /**
+     * DUAL 모드에서는 다이제스트 키에 없는 세션만 모아 기존 토큰 키로 한 번 더 조회한다.
+     */
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+
+        List<String> digestKeys = new ArrayList<>(keys.size());
+
+        for(String key : keys) {
+            digestKeys.add(sessionKeys.key(key));
+        }
+
+        List<SessionStatus> statuses = delegate.checkSessions(digestKeys, serverCodes);
+
+        if(!sessionKeys.isDualRead()) {
+            return statuses;
+        }
+
+        List<Integer> missing = new ArrayList<>();
+        List<String> legacyKeys = new ArrayList<>();
+        List<String> legacyServerCodes = new ArrayList<>();
+
+        for(int i = 0; i < statuses.size(); i++) {
+
+            if(statuses.get(i) == SessionStatus.NOT_FOUND) {
+                missing.add(i);
+                legacyKeys.add(keys.get(i));
+                legacyServerCodes.add(serverCodes.get(i));
+            }
+        }
+
+        if(missing.isEmpty()) {
+            return statuses;
+        }
+
+        List<SessionStatus> legacyStatuses = delegate.checkSessions(legacyKeys, legacyServerCodes);
+        List<SessionStatus> merged = new ArrayList<>(statuses);
+
+        for(int i = 0; i < missing.size(); i++) {
+            merged.set(missing.get(i), legacyStatuses.get(i));
+        }
+
+        return merged;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import org.springframework.stereotype.Component;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.util.TokenDigest;
+
+/**
+ * 토큰을 세션 Redis 키로 변환
+ */
+@Component
+public class SessionKeys {
+
+    private final AuthorizationProperties.SessionKey properties;
+
+    public SessionKeys(AuthorizationProperties authorizationProperties) {
+
+        this.properties = authorizationProperties.getSessionKey();
+
+        if(properties.getDigestLength() < 1 || properties.getDigestLength() > 32) {
+            throw new IllegalArgumentException("authorization.session-key.digest-length must be between 1 and 32");
+        }
+    }
+
+    public boolean isRaw() {
+        return properties.getMode() == AuthorizationProperties.KeyMode.RAW;
+    }
+
+    /**
+     * 기존 토큰 키도 조회해야 하는지 여부
+     */
+    public boolean isDualRead() {
+        return properties.getMode() == AuthorizationProperties.KeyMode.DUAL;
+    }
+
+    public String key(String token) {
+
+        if(isRaw()) {
+            return token;
+        }
+
+        return properties.getPrefix() + TokenDigest.sha256(token, properties.getDigestLength());
+    }
+
+}
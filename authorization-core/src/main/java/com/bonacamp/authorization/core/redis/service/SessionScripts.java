@@ -0,0 +1,28 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 세션 조회/만료 연장용 Lua 스크립트
+ * RedisTemplate 은 EVALSHA 로 실행하고, 스크립트가 캐시되어 있지 않으면 EVAL 로 재시도한다.
+ */
+final class SessionScripts {
+
+    static final RedisScript<Long> CHECK_SESSION = create("scripts/check-session.lua");
+
+    static final RedisScript<Long> EXTEND_EXPIRE = create("scripts/extend-expire.lua");
+
+    private SessionScripts() {}
+
+    private static RedisScript<Long> create(String location) {
+
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(location));
+        script.setResultType(Long.class);
+
+        return script;
+    }
+
+}
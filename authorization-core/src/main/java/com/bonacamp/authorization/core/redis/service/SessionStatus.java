@@ -0,0 +1,82 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.util.Arrays;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum SessionStatus {
+
+    NOT_FOUND(0L),
+    FORBIDDEN(1L),
+    AUTHORIZED(2L),
+    /** Redis 를 사용할 수 없어 세션을 확인하지 못함 (스크립트 결과에는 없음) */
+    UNAVAILABLE(-1L),
+    /** Redis 장애 중 fallback 정책으로 결정한 상태 (스크립트 결과에는 없음) */
+    DEGRADED_NOT_FOUND(-2L),
+    DEGRADED_FORBIDDEN(-3L),
+    DEGRADED_AUTHORIZED(-4L)
+    ;
+
+    private final long code;
+
+    /**
+     * Redis 에서 확인한 결과인지 여부, UNAVAILABLE 과 fallback 상태는 캐시하지 않는다.
+     */
+    public boolean isResolved() {
+        return this != UNAVAILABLE && !isDegraded();
+    }
+
+    public boolean isDegraded() {
+        return this == DEGRADED_NOT_FOUND || this == DEGRADED_FORBIDDEN || this == DEGRADED_AUTHORIZED;
+    }
+
+    /**
+     * 같은 판단의 fallback 상태
+     */
+    public SessionStatus degraded() {
+
+        switch (this) {
+            case NOT_FOUND:
+                return DEGRADED_NOT_FOUND;
+            case FORBIDDEN:
+                return DEGRADED_FORBIDDEN;
+            case AUTHORIZED:
+                return DEGRADED_AUTHORIZED;
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * fallback 상태가 가리키는 원래 상태
+     */
+    public SessionStatus origin() {
+
+        switch (this) {
+            case DEGRADED_NOT_FOUND:
+                return NOT_FOUND;
+            case DEGRADED_FORBIDDEN:
+                return FORBIDDEN;
+            case DEGRADED_AUTHORIZED:
+                return AUTHORIZED;
+            default:
+                return this;
+        }
+    }
+
+    public static SessionStatus of(Long code) {
+
+        if(code == null) {
+            return NOT_FOUND;
+        }
+
+        return Arrays.stream(SessionStatus.values())
+                .filter(value -> value.code == code)
+                .findAny()
+                .orElseThrow();
+    }
+
+}
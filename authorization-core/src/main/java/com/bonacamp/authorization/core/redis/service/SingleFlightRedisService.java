@@ -0,0 +1,172 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나의 Redis 호출로 합치는 RedisService
+ * 먼저 온 스레드가 Redis 를 호출하고, 그 사이 같은 조회를 요청한 스레드는 최대 max-wait 동안 결과를 기다린다.
+ * 호출이 실패하면 같은 예외가 기다리던 스레드에도 전달되며, 쓰기와 checkSessions 는 그대로 위임한다.
+ */
+public class SingleFlightRedisService implements RedisService {
+
+    private final RedisService delegate;
+    private final long maxWaitNanos;
+    private final ConcurrentMap<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlightRedisService(RedisService delegate, Duration maxWait) {
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    public void setValue(String key, String data, Duration duration) {
+        delegate.setValue(key, data, duration);
+    }
+
+    @Override
+    public Object getValue(String key) {
+        return execute(new Flight(Operation.GET_VALUE, key, null), () -> delegate.getValue(key));
+    }
+
+    @Override
+    public void setSession(String key, SessionValue session, Duration duration) {
+        delegate.setSession(key, session, duration);
+    }
+
+    @Override
+    public SessionValue getSession(String key) {
+        return (SessionValue) execute(new Flight(Operation.GET_SESSION, key, null), () -> delegate.getSession(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        delegate.delete(key);
+    }
+
+    @Override
+    public void expire(String key, int timeout) {
+        delegate.expire(key, timeout);
+    }
+
+    @Override
+    public void expireAll(Collection<String> keys, int timeout) {
+        delegate.expireAll(keys, timeout);
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        return (Boolean) execute(new Flight(Operation.HAS_KEY, key, null), () -> delegate.hasKey(key));
+    }
+
+    @Override
+    public SessionStatus checkSession(String key, String serverCode) {
+        return (SessionStatus) execute(new Flight(Operation.CHECK_SESSION, key, serverCode), () -> delegate.checkSession(key, serverCode));
+    }
+
+    @Override
+    public List<SessionStatus> checkSessions(List<String> keys, List<String> serverCodes) {
+        return delegate.checkSessions(keys, serverCodes);
+    }
+
+    private Object execute(Flight flight, Supplier<Object> loader) {
+
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(flight, leader);
+
+        if(inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            Object value = loader.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flight, leader);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> inFlight) {
+
+        try {
+            return inFlight.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("timed out waiting for in-flight redis call", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("interrupted while waiting for in-flight redis call", e);
+        } catch (ExecutionException e) {
+
+            Throwable cause = e.getCause();
+
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new RedisSystemException(String.valueOf(cause), cause);
+        }
+    }
+
+    private enum Operation {
+        GET_VALUE, GET_SESSION, HAS_KEY, CHECK_SESSION
+    }
+
+    private static final class Flight {
+
+        private final Operation operation;
+        private final String key;
+        private final String serverCode;
+        private final int hash;
+
+        private Flight(Operation operation, String key, String serverCode) {
+            this.operation = operation;
+            this.key = key;
+            this.serverCode = serverCode;
+            this.hash = (operation.hashCode() * 31 + key.hashCode()) * 31 + Objects.hashCode(serverCode);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if(this == o) {
+                return true;
+            }
+
+            if(!(o instanceof Flight)) {
+                return false;
+            }
+
+            Flight other = (Flight) o;
+
+            return hash == other.hash && operation == other.operation && key.equals(other.key) && Objects.equals(serverCode, other.serverCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
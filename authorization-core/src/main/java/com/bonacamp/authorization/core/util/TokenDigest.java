@@ -0,0 +1,58 @@
+package com.bonacamp.authorization.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 토큰 다이제스트 유틸 클래스
+ */
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(TokenDigest::newSha256);
+
+    /**
+     * 객체 인스턴스 제한
+     */
+    private TokenDigest() {}
+
+    /**
+     * 토큰의 SHA-256 다이제스트를 base64url 문자열로 반환하는 함수
+     *
+     * @param token 대상 토큰
+     * @return 패딩 없는 base64url 다이제스트 (43자)
+     */
+    public static String sha256(String token) {
+
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트 앞 length 바이트를 base64url 문자열로 반환하는 함수
+     *
+     * @param token 대상 토큰
+     * @param length 사용할 다이제스트 바이트 수 (1 ~ 32)
+     * @return 패딩 없는 base64url 다이제스트
+     */
+    public static String sha256(String token, int length) {
+
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(token.getBytes(StandardCharsets.US_ASCII)), length));
+    }
+
+    private static MessageDigest newSha256() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
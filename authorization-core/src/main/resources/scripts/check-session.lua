@@ -0,0 +1,49 @@
+-- KEYS[1] : access token session key
+-- ARGV[1] : serverCode
+-- return  : 0 session not found, 1 serverCode not allowed, 2 authorized
+local session = redis.call('GET', KEYS[1])
+
+if not session or session == '' then
+    return 0
+end
+
+-- binary format : magic(0xBC) version(1) issuedAt(8) count(2) [length(1) serverCode] * count
+if string.byte(session, 1) == 188 then
+    if string.byte(session, 2) ~= 1 or string.len(session) < 12 then
+        return 1
+    end
+
+    local count = string.byte(session, 11) * 256 + string.byte(session, 12)
+    local position = 13
+
+    for _ = 1, count do
+        local length = string.byte(session, position)
+
+        if not length then
+            return 1
+        end
+
+        if string.sub(session, position + 1, position + length) == ARGV[1] then
+            return 2
+        end
+
+        position = position + 1 + length
+    end
+
+    return 1
+end
+
+-- legacy JSON format : [{"serverCode": "..."}, ...]
+local ok, entries = pcall(cjson.decode, session)
+
+if not ok or type(entries) ~= 'table' then
+    return 1
+end
+
+for _, entry in ipairs(entries) do
+    if type(entry) == 'table' and entry['serverCode'] == ARGV[1] then
+        return 2
+    end
+end
+
+return 1
@@ -0,0 +1,12 @@
+-- KEYS[1] : access token session key
+-- ARGV[1] : ttl (ms)
+-- return  : 1 extended, 0 not extended
+-- 남은 만료 시간이 ttl 보다 짧을 때만 연장한다. 키가 없거나(-2) 만료가 없는(-1) 키는 그대로 둔다.
+local ttl = tonumber(ARGV[1])
+local remaining = redis.call('PTTL', KEYS[1])
+
+if remaining < 0 or remaining >= ttl then
+    return 0
+end
+
+return redis.call('PEXPIRE', KEYS[1], ttl)
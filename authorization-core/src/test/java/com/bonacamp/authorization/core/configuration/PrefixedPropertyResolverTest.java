@@ -0,0 +1,54 @@
+package com.bonacamp.authorization.core.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jasypt.encryption.StringEncryptor;
+import org.jasypt.exceptions.EncryptionOperationNotPossibleException;
+import org.junit.jupiter.api.Test;
+
+class PrefixedPropertyResolverTest {
+
+    private static final String PASSWORD = "password";
+
+    private final StringEncryptor legacy = JaspytConfig.encryptor(PASSWORD, JaspytConfig.LEGACY_ALGORITHM, 1, JaspytConfig.DEFAULT_KEY_OBTENTION_ITERATIONS);
+    private final StringEncryptor encryptor = JaspytConfig.encryptor(PASSWORD, JaspytConfig.DEFAULT_ALGORITHM, 1, 10);
+    private final PrefixedPropertyResolver resolver = new PrefixedPropertyResolver(legacy, encryptor);
+
+    @Test
+    void prefixSelectsAlgorithm() {
+
+        assertEquals("legacy", resolver.resolvePropertyValue(" ENC(" + legacy.encrypt("legacy") + ") "));
+        assertEquals("modern", resolver.resolvePropertyValue("ENC2(" + encryptor.encrypt("modern") + ")"));
+        assertEquals("plain", resolver.resolvePropertyValue("plain"));
+        assertEquals("ENC(unterminated", resolver.resolvePropertyValue("ENC(unterminated"));
+        assertNull(resolver.resolvePropertyValue(null));
+    }
+
+    /**
+     * 복호화에 실패해도 다른 알고리즘으로 다시 시도하지 않는다.
+     */
+    @Test
+    void failureIsNotRetriedWithOtherAlgorithm() {
+
+        PrefixedPropertyResolver resolver = new PrefixedPropertyResolver(new StringEncryptor() {
+
+            @Override
+            public String encrypt(String message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String decrypt(String encryptedMessage) {
+                throw new EncryptionOperationNotPossibleException();
+            }
+        }, encryptor);
+
+        String value = "ENC(" + encryptor.encrypt("modern") + ")";
+
+        assertThrows(EncryptionOperationNotPossibleException.class, () -> resolver.resolvePropertyValue(value));
+        assertEquals("modern", resolver.resolvePropertyValue("ENC2" + value.substring(3)));
+    }
+
+}
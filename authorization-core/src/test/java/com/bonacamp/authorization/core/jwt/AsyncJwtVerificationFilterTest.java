@@ -0,0 +1,330 @@
+package com.bonacamp.authorization.core.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+import com.bonacamp.authorization.core.redis.service.AsyncRedisService;
+import com.bonacamp.authorization.core.redis.service.OffHeapRedisService;
+import com.bonacamp.authorization.core.redis.service.SessionStatus;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class AsyncJwtVerificationFilterTest {
+
+    private static final byte[] KEY = "async-verification-filter-test-key-async-verification-filter-01".getBytes(StandardCharsets.US_ASCII);
+    private static final SecretKey SIGNING_KEY = Keys.hmacShaKeyFor(KEY);
+    private static final String SERVER_CODE = "SVC0";
+    private static final String REQUEST_URI = "/api/svc0/orders/1";
+
+    private OffHeapRedisService redisService;
+    private AsyncJwtVerificationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getJwt().getKeys().put(properties.getJwt().getDefaultKid(), Base64.getEncoder().encodeToString(KEY));
+        properties.getLocalStore().setMaxMemory(DataSize.ofMegabytes(4));
+        properties.getLocalStore().setSegments(1);
+
+        redisService = new OffHeapRedisService(properties.getLocalStore());
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(new JjwtTokenVerifier(new KeyRing(properties)), redisService,
+                new DecisionCache(properties, null, null), AuthorizationMetrics.disabled(),
+                new NegativeTokenFilter(properties), new SlidingExpiration(properties, redisService));
+
+        filter = new AsyncJwtVerificationFilter(jwtTokenProvider, new CompletedAsyncRedisService(redisService),
+                AuthorizationMetrics.disabled(), SERVER_CODE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisService.close();
+    }
+
+    /**
+     * 세션 조회를 거친 요청은 ASYNC dispatch 에서 체인을 이어가며, ASYNC 에서도 실행되는 뒤 필터를 거친다.
+     */
+    @Test
+    void downstreamFilterRunsOnAsyncDispatch() throws Exception {
+
+        String token = token();
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        CountingFilter downstream = new CountingFilter(false);
+        CountingServlet servlet = new CountingServlet();
+
+        MockHttpServletRequest request = request(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new MockFilterChain(servlet, filter, downstream).doFilter(request, response);
+
+        assertTrue(request.isAsyncStarted());
+        assertEquals(0, downstream.count.get());
+        assertEquals(0, servlet.count.get());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        new MockFilterChain(servlet, filter, downstream).doFilter(request, response);
+
+        assertEquals(1, downstream.count.get());
+        assertEquals(1, servlet.count.get());
+        assertEquals(200, response.getStatus());
+    }
+
+    /**
+     * async dispatch 를 건너뛰는 뒤 필터는 검증된 요청에서 실행되지 않는다. 등록 빈이 시작 시 막는 경우다.
+     */
+    @Test
+    void downstreamFilterSkippingAsyncDispatchIsBypassed() throws Exception {
+
+        String token = token();
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        CountingFilter downstream = new CountingFilter(true);
+        CountingServlet servlet = new CountingServlet();
+
+        MockHttpServletRequest request = request(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new MockFilterChain(servlet, filter, downstream).doFilter(request, response);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        new MockFilterChain(servlet, filter, downstream).doFilter(request, response);
+
+        assertEquals(0, downstream.count.get());
+        assertEquals(1, servlet.count.get());
+    }
+
+    @Test
+    void registrationRejectsDownstreamFilterRegisteredForRequestOnly() {
+
+        FilterRegistrationBean<Filter> downstream = new FilterRegistrationBean<>(new PlainFilter());
+        downstream.setDispatcherTypes(DispatcherType.REQUEST);
+
+        assertThrows(IllegalStateException.class, () -> refresh(downstream));
+    }
+
+    @Test
+    void registrationRejectsDownstreamFilterSkippingAsyncDispatch() {
+        assertThrows(IllegalStateException.class, () -> refresh(new FilterRegistrationBean<>(new CountingFilter(true))));
+    }
+
+    @Test
+    void registrationAcceptsDownstreamFilterOnAsyncDispatch() {
+
+        FilterRegistrationBean<Filter> plain = new FilterRegistrationBean<>(new PlainFilter());
+        plain.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+
+        // 이 필터보다 앞선 필터는 dispatcher 와 무관하다.
+        FilterRegistrationBean<Filter> upstream = new FilterRegistrationBean<>(new CountingFilter(true));
+        upstream.setOrder(0);
+
+        refresh(plain, new FilterRegistrationBean<>(new CountingFilter(false)), upstream).close();
+    }
+
+    @Test
+    void registrationRequiresAsyncDispatch() {
+
+        AsyncJwtVerificationFilterRegistrationBean registration = new AsyncJwtVerificationFilterRegistrationBean(filter);
+
+        assertTrue(registration.isAsyncSupported());
+        assertThrows(IllegalArgumentException.class, () -> registration.setDispatcherTypes(DispatcherType.REQUEST));
+        assertThrows(IllegalArgumentException.class, () -> registration.setAsyncSupported(false));
+    }
+
+    private GenericApplicationContext refresh(FilterRegistrationBean<?>... downstream) {
+
+        AsyncJwtVerificationFilterRegistrationBean registration = new AsyncJwtVerificationFilterRegistrationBean(filter);
+        registration.setOrder(10);
+
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean("asyncJwtVerificationFilterRegistration", AsyncJwtVerificationFilterRegistrationBean.class, () -> registration);
+
+        for(int i = 0; i < downstream.length; i++) {
+            FilterRegistrationBean<?> bean = downstream[i];
+            context.registerBean("downstream" + i, FilterRegistrationBean.class, () -> bean);
+        }
+
+        context.refresh();
+
+        return context;
+    }
+
+    private static MockHttpServletRequest request(String token) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", REQUEST_URI);
+        request.setAsyncSupported(true);
+        request.addHeader(JwtTokenProvider.AUTHORIZATION_HEADER, "Bearer " + token);
+
+        return request;
+    }
+
+    private static String token() {
+
+        return Jwts.builder()
+                .claim("client_id", Base64.getEncoder().encodeToString("bona-client-i".getBytes(StandardCharsets.UTF_8)))
+                .claim("user_role", "ROLE_USER")
+                .claim("server_role", Arrays.asList("/api/svc0.read"))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(SIGNING_KEY)
+                .compact();
+    }
+
+    private static final class CountingFilter extends OncePerRequestFilter {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final boolean skipAsyncDispatch;
+
+        private CountingFilter(boolean skipAsyncDispatch) {
+            this.skipAsyncDispatch = skipAsyncDispatch;
+        }
+
+        @Override
+        protected boolean shouldNotFilterAsyncDispatch() {
+            return skipAsyncDispatch;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+
+            count.incrementAndGet();
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static final class PlainFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        public void init(FilterConfig filterConfig) {
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class CountingServlet extends HttpServlet {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * 세션 조회를 호출 스레드에서 바로 완료하는 AsyncRedisService
+     */
+    private static final class CompletedAsyncRedisService implements AsyncRedisService {
+
+        private final OffHeapRedisService redisService;
+
+        private CompletedAsyncRedisService(OffHeapRedisService redisService) {
+            this.redisService = redisService;
+        }
+
+        @Override
+        public CompletionStage<SessionStatus> checkSession(String key, String serverCode) {
+            return CompletableFuture.completedFuture(redisService.checkSession(key, serverCode));
+        }
+
+        @Override
+        public CompletionStage<List<SessionStatus>> checkSessions(List<String> keys, List<String> serverCodes) {
+            return CompletableFuture.completedFuture(redisService.checkSessions(keys, serverCodes));
+        }
+
+        @Override
+        public CompletionStage<Void> setValue(String key, String data, Duration duration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<String> getValue(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Map<String, String>> getValues(Collection<String> keys) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Void> setSession(String key, SessionValue session, Duration duration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<SessionValue> getSession(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Void> delete(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Void> expire(String key, int timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Boolean> hasKey(String key) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.bonacamp.authorization.core.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.metrics.AuthorizationMetrics;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+import com.bonacamp.authorization.core.redis.service.OffHeapRedisService;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtTokenProviderTest {
+
+    private static final byte[] KEY = "jwt-token-provider-test-key-jwt-token-provider-test-key-0123456".getBytes(StandardCharsets.US_ASCII);
+    private static final SecretKey SIGNING_KEY = Keys.hmacShaKeyFor(KEY);
+    private static final String SERVER_CODE = "SVC0";
+    private static final String REQUEST_URI = "/api/svc0/orders/1";
+
+    private AuthorizationProperties properties;
+    private OffHeapRedisService redisService;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+
+        properties = new AuthorizationProperties();
+        properties.getJwt().getKeys().put(properties.getJwt().getDefaultKid(), Base64.getEncoder().encodeToString(KEY));
+        properties.getNegativeCache().setEnabled(true);
+        properties.getLocalStore().setMaxMemory(DataSize.ofMegabytes(4));
+        properties.getLocalStore().setSegments(1);
+
+        redisService = new OffHeapRedisService(properties.getLocalStore());
+        jwtTokenProvider = new JwtTokenProvider(new JjwtTokenVerifier(new KeyRing(properties)), redisService,
+                new DecisionCache(properties, null, null), AuthorizationMetrics.disabled(),
+                new NegativeTokenFilter(properties), new SlidingExpiration(properties, redisService));
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisService.close();
+    }
+
+    @Test
+    void invalidatedTokenIsRejected() {
+
+        String token = token(new Date());
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        assertEquals(200, status(token));
+
+        jwtTokenProvider.invalidate(token);
+
+        assertEquals(404, status(token));
+        assertFalse(redisService.hasKey(token));
+
+        // 세션이 다시 보이더라도(다른 인스턴스의 삭제 전 등) 이 인스턴스에서는 네거티브 캐시로 거부한다.
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        assertEquals(404, status(token));
+    }
+
+    /**
+     * 세션이 없다고 확인된 토큰은 이후 Redis 를 조회하지 않고 거부한다.
+     */
+    @Test
+    void missingSessionIsAnsweredByNegativeCache() {
+
+        String token = token(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1)));
+
+        assertEquals(404, status(token));
+
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        assertEquals(404, status(token));
+    }
+
+    /**
+     * grace-period 안에 발급된 토큰은 세션이 늦게 보일 수 있으므로 기록하지 않는다.
+     */
+    @Test
+    void freshTokenIsNotRecorded() {
+
+        String token = token(new Date());
+
+        assertEquals(404, status(token));
+
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        assertEquals(200, status(token));
+    }
+
+    /**
+     * context path 아래에 배포되어도 server_role 은 애플리케이션 기준 경로로 매칭한다.
+     */
+    @Test
+    void routeExcludesContextPath() {
+
+        String token = token(new Date());
+        redisService.setSession(token, SessionValue.of(1L, Collections.singletonList(SERVER_CODE)), Duration.ofMinutes(1));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ctx" + REQUEST_URI);
+        request.setContextPath("/ctx");
+        request.addHeader(JwtTokenProvider.AUTHORIZATION_HEADER, "Bearer " + token);
+
+        assertEquals(200, jwtTokenProvider.verificationToken(request, SERVER_CODE));
+
+        request.setRequestURI("/ctx/api/svc2/orders/1");
+
+        assertEquals(403, jwtTokenProvider.verificationToken(request, SERVER_CODE));
+    }
+
+    private int status(String token) {
+        return jwtTokenProvider.verify("Bearer " + token, REQUEST_URI, "GET", SERVER_CODE).getStatus();
+    }
+
+    private static String token(Date issuedAt) {
+
+        return Jwts.builder()
+                .claim("client_id", Base64.getEncoder().encodeToString("bona-client-i".getBytes(StandardCharsets.UTF_8)))
+                .claim("user_role", "ROLE_USER")
+                .claim("server_role", Arrays.asList("/api/svc1.write", "/api/svc0.read"))
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(SIGNING_KEY)
+                .compact();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.bonacamp.authorization.core.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+
+class KeyRingTest {
+
+    /**
+     * Kubernetes Secret 마운트처럼 ..data 심볼릭 링크를 교체해도 키를 다시 읽는다.
+     */
+    @Test
+    void reloadsWhenDataSymlinkIsSwapped(@TempDir Path directory) throws Exception {
+
+        writeKeys(directory.resolve("..2021_01"), "old");
+        Files.createSymbolicLink(directory.resolve("..data"), Paths.get("..2021_01"));
+        Files.createSymbolicLink(directory.resolve("keys.properties"), Paths.get("..data/keys.properties"));
+
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getJwt().setKeyFile(directory.resolve("keys.properties").toString());
+
+        KeyRing keyRing = new KeyRing(properties);
+        keyRing.watch();
+
+        try {
+            assertNotNull(keyRing.get("old"));
+            assertNull(keyRing.get("new"));
+
+            writeKeys(directory.resolve("..2021_02"), "new");
+            Files.createSymbolicLink(directory.resolve("..data_tmp"), Paths.get("..2021_02"));
+            Files.move(directory.resolve("..data_tmp"), directory.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+            while(keyRing.get("new") == null && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertNotNull(keyRing.get("new"));
+            // 빠진 키는 grace-period 동안 유지된다.
+            assertNotNull(keyRing.get("old"));
+        } finally {
+            keyRing.close();
+        }
+    }
+
+    @Test
+    void retiredKeyIsRemovedAfterGracePeriod() throws IOException {
+
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getJwt().getKeys().put("old", secret("old"));
+        properties.getJwt().setGracePeriod(Duration.ZERO);
+
+        KeyRing keyRing = new KeyRing(properties);
+        assertNotNull(keyRing.get("old"));
+
+        properties.getJwt().getKeys().clear();
+        properties.getJwt().getKeys().put("new", secret("new"));
+        keyRing.reload();
+
+        assertNotNull(keyRing.get("new"));
+        assertNull(keyRing.get("old"));
+    }
+
+    private static void writeKeys(Path directory, String kid) throws IOException {
+
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("keys.properties"), (kid + "=" + secret(kid) + "\n").getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String secret(String kid) {
+        return Base64.getEncoder().encodeToString((kid + "-0123456789abcdef0123456789abcdef").getBytes(StandardCharsets.US_ASCII));
+    }
+
+}
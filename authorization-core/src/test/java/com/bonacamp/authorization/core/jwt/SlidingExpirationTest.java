@@ -0,0 +1,133 @@
+package com.bonacamp.authorization.core.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.service.OffHeapRedisService;
+
+class SlidingExpirationTest {
+
+    /**
+     * flush 와 동시에 기록된 토큰도 빠짐없이 연장된다.
+     */
+    @Test
+    void touchDuringFlushIsNotDropped() throws Exception {
+
+        AuthorizationProperties properties = properties(Duration.ofMinutes(30));
+
+        try (RecordingRedisService redisService = new RecordingRedisService(properties.getLocalStore())) {
+
+            SlidingExpiration slidingExpiration = new SlidingExpiration(properties, redisService);
+            slidingExpiration.start();
+
+            int threads = 4;
+            int touches = 50_000;
+            ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean done = new AtomicBoolean();
+            List<Future<?>> writers = new ArrayList<>();
+
+            for(int t = 0; t < threads; t++) {
+
+                int thread = t;
+
+                writers.add(executor.submit(() -> {
+
+                    start.await();
+
+                    for(int i = 0; i < touches; i++) {
+                        slidingExpiration.touch(thread + ":" + i);
+                    }
+
+                    return null;
+                }));
+            }
+
+            Future<?> flusher = executor.submit(() -> {
+
+                start.await();
+
+                while(!done.get()) {
+                    slidingExpiration.flush();
+                }
+
+                return null;
+            });
+
+            start.countDown();
+
+            for(Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+
+            done.set(true);
+            flusher.get(1, TimeUnit.MINUTES);
+            executor.shutdown();
+            slidingExpiration.close();
+
+            assertEquals(threads * touches, redisService.extended.size());
+        }
+    }
+
+    @Test
+    void ttlIsClampedToInt() {
+
+        AuthorizationProperties properties = properties(Duration.ofDays(365));
+
+        try (RecordingRedisService redisService = new RecordingRedisService(properties.getLocalStore())) {
+
+            SlidingExpiration slidingExpiration = new SlidingExpiration(properties, redisService);
+            slidingExpiration.start();
+            slidingExpiration.touch("token");
+            slidingExpiration.close();
+
+            assertEquals(Integer.MAX_VALUE, redisService.timeout);
+        }
+    }
+
+    private static AuthorizationProperties properties(Duration ttl) {
+
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getSlidingExpiration().setEnabled(true);
+        properties.getSlidingExpiration().setTtl(ttl);
+        properties.getSlidingExpiration().setFlushInterval(Duration.ofHours(1));
+        properties.getSlidingExpiration().setMaxBatchSize(Integer.MAX_VALUE);
+        properties.getLocalStore().setMaxMemory(DataSize.ofMegabytes(1));
+        properties.getLocalStore().setSegments(1);
+
+        return properties;
+    }
+
+    private static final class RecordingRedisService extends OffHeapRedisService {
+
+        private final Set<String> extended = ConcurrentHashMap.newKeySet();
+        private volatile int timeout;
+
+        private RecordingRedisService(AuthorizationProperties.LocalStore properties) {
+            super(properties);
+        }
+
+        @Override
+        public void expireAll(Collection<String> keys, int timeout) {
+            this.extended.addAll(keys);
+            this.timeout = timeout;
+        }
+    }
+
+}
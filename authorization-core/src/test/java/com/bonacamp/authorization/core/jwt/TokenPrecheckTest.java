@@ -0,0 +1,70 @@
+package com.bonacamp.authorization.core.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TokenPrecheckTest {
+
+    private static final long NOW = 1_600_000_000_000L;
+    private static final String HEADER = "{\"alg\":\"HS256\"}";
+
+    /**
+     * exp 는 payload 최상위 키만 확인한다. (` 는 " 로 바꿔 사용)
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "{`exp`:1500000000}                                   | EXPIRED",
+            "{`exp`:1700000000}                                   | VALID",
+            "{ `sub` : `a`, `exp` : 1500000000 }                  | EXPIRED",
+            "{`exp`:1500000000,`exp`:1700000000}                  | VALID",
+            "{`nested`:{`exp`:1500000000},`exp`:1700000000}       | VALID",
+            "{`nested`:{`exp`:1500000000}}                        | VALID",
+            "{`list`:[{`exp`:1500000000}]}                        | VALID",
+            "{`sub`:`\\`exp\\`:1500000000`}                       | VALID",
+            "{`sub`:`x\\\\`,`exp`:1500000000}                     | EXPIRED",
+            "{`exp`:`1500000000`}                                 | VALID",
+            "{`exp`:1.5e9}                                        | VALID",
+    })
+    void expiry(String payload, TokenPrecheck.Result expected) {
+        assertEquals(expected, TokenPrecheck.check(token(HEADER, payload.replace('`', '"')), NOW));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "{`alg`:`HS256`}                        | VALID",
+            "{`typ`:`JWT`,`alg`:`HS512`}            | VALID",
+            "{`alg`:`RS256`}                        | UNSUPPORTED_ALGORITHM",
+            "{`jwk`:{`alg`:`HS256`},`alg`:`none`}   | UNSUPPORTED_ALGORITHM",
+            "{`kid`:`\\`alg\\`:\\`HS256\\``}        | UNSUPPORTED_ALGORITHM",
+    })
+    void algorithm(String header, TokenPrecheck.Result expected) {
+        assertEquals(expected, TokenPrecheck.check(token(header.replace('`', '"'), "{}"), NOW));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "padded signature    | H.e30.c2ln=         | VALID",
+            "padded segments     | H.e30=.c2ln==       | VALID",
+            "padding in segment  | H.e3=0.c2ln         | INVALID_ENCODING",
+            "padding only header | ==.e30.c2ln         | MALFORMED",
+            "empty payload       | H.=.c2ln            | MALFORMED",
+            "four segments       | H.e30.c2ln.c2ln     | MALFORMED",
+    })
+    void structure(String name, String token, TokenPrecheck.Result expected) {
+        assertEquals(expected, TokenPrecheck.check(token.replace("H", encode(HEADER)), NOW));
+    }
+
+    private static String token(String header, String payload) {
+        return encode(header) + "." + encode(payload) + ".c2ln";
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
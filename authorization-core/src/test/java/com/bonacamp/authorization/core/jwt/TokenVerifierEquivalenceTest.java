@@ -0,0 +1,202 @@
+package com.bonacamp.authorization.core.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 같은 토큰을 JjwtTokenVerifier 와 HmacTokenVerifier 로 검증해 결과를 비교한다.
+ * jjwt 가 허용하는 토큰은 TokenPrecheck 도 통과해야 한다.
+ */
+class TokenVerifierEquivalenceTest {
+
+    private static final byte[] KEY = bytes(64, 1);
+    private static final byte[] SHORT_KEY = bytes(32, 7);
+    private static final byte[] OTHER_KEY = bytes(64, 3);
+
+    private static final KeyRing KEY_RING = keyRing();
+    private static final TokenVerifier JJWT = new JjwtTokenVerifier(KEY_RING);
+    private static final TokenVerifier HMAC = new HmacTokenVerifier(KEY_RING);
+
+    enum Expect {
+        ACCEPTED, REJECTED,
+        /** 압축(zip) 토큰과 padding 이 붙은 토큰은 HmacTokenVerifier 가 허용하지 않는다. */
+        ACCEPTED_BY_JJWT_ONLY
+    }
+
+    static Stream<Arguments> tokens() {
+
+        long now = System.currentTimeMillis() / 1000;
+        String payload = "{\"client_id\":\"Ym9uYS1jbGllbnQtaQ==\",\"user_role\":\"ROLE_USER\",\"server_role\":[\"/api/svc0.read\"],\"iat\":" + now + ",\"exp\":" + (now + 3600) + "}";
+        String valid = sign("{\"alg\":\"HS256\",\"kid\":\"main\"}", payload, KEY);
+
+        return Stream.of(
+                Arguments.of("HS256", valid, Expect.ACCEPTED),
+                Arguments.of("HS384", sign("{\"alg\":\"HS384\",\"kid\":\"main\"}", payload, KEY), Expect.ACCEPTED),
+                Arguments.of("HS512", sign("{\"alg\":\"HS512\",\"kid\":\"main\"}", payload, KEY), Expect.ACCEPTED),
+                Arguments.of("default kid", sign("{\"alg\":\"HS256\"}", payload, KEY), Expect.ACCEPTED),
+                Arguments.of("no exp", sign("{\"alg\":\"HS256\",\"kid\":\"main\"}", "{\"user_role\":\"ROLE_USER\"}", KEY), Expect.ACCEPTED),
+                Arguments.of("non-ASCII payload", sign("{\"alg\":\"HS256\",\"kid\":\"main\"}", "{\"name\":\"홍길동\",\"exp\":" + (now + 3600) + "}", KEY), Expect.ACCEPTED),
+                Arguments.of("tampered signature", tamper(valid, valid.length() - 10), Expect.REJECTED),
+                Arguments.of("tampered payload", tamper(valid, valid.indexOf('.') + 5), Expect.REJECTED),
+                Arguments.of("signature of other key", sign("{\"alg\":\"HS256\",\"kid\":\"main\"}", payload, OTHER_KEY), Expect.REJECTED),
+                Arguments.of("wrong kid", sign("{\"alg\":\"HS256\",\"kid\":\"unknown\"}", payload, KEY), Expect.REJECTED),
+                Arguments.of("non-string kid", sign("{\"alg\":\"HS256\",\"kid\":1}", payload, KEY), Expect.REJECTED),
+                Arguments.of("expired", sign("{\"alg\":\"HS256\",\"kid\":\"main\"}", "{\"exp\":" + (now - 60) + "}", KEY), Expect.REJECTED),
+                Arguments.of("nbf in the future", sign("{\"alg\":\"HS256\",\"kid\":\"main\"}", "{\"nbf\":" + (now + 60) + ",\"exp\":" + (now + 3600) + "}", KEY), Expect.REJECTED),
+                Arguments.of("zip", signRaw("{\"alg\":\"HS256\",\"kid\":\"main\",\"zip\":\"DEF\"}", deflate(payload), KEY), Expect.ACCEPTED_BY_JJWT_ONLY),
+                Arguments.of("alg=none", encode("{\"alg\":\"none\"}") + "." + encode(payload) + ".", Expect.REJECTED),
+                Arguments.of("alg=none with signature", replaceHeader(valid, "{\"alg\":\"none\",\"kid\":\"main\"}"), Expect.REJECTED),
+                Arguments.of("alg=RS256", replaceHeader(valid, "{\"alg\":\"RS256\",\"kid\":\"main\"}"), Expect.REJECTED),
+                Arguments.of("non-ASCII character in token", widen(valid, valid.indexOf('.') + 1), Expect.REJECTED),
+                Arguments.of("padded signature", valid + "=", Expect.ACCEPTED_BY_JJWT_ONLY),
+                Arguments.of("padded payload", signPadded("{\"alg\":\"HS256\",\"kid\":\"main\"}", payload, KEY), Expect.ACCEPTED_BY_JJWT_ONLY),
+                Arguments.of("bad padding", valid + "==", Expect.REJECTED),
+                Arguments.of("truncated signature", valid.substring(0, valid.length() - 1), Expect.REJECTED),
+                Arguments.of("short key HS256", sign("{\"alg\":\"HS256\",\"kid\":\"short\"}", payload, SHORT_KEY), Expect.ACCEPTED),
+                Arguments.of("short key HS384", sign("{\"alg\":\"HS384\",\"kid\":\"short\"}", payload, SHORT_KEY), Expect.REJECTED),
+                Arguments.of("short key HS512", sign("{\"alg\":\"HS512\",\"kid\":\"short\"}", payload, SHORT_KEY), Expect.REJECTED),
+                Arguments.of("two segments", valid.substring(0, valid.lastIndexOf('.')), Expect.REJECTED),
+                Arguments.of("four segments", valid + ".e30", Expect.REJECTED),
+                Arguments.of("empty", "", Expect.REJECTED)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("tokens")
+    void verifiersAgree(String name, String token, Expect expect) {
+
+        Claims jjwt = JJWT.verify(token);
+        Claims hmac = HMAC.verify(token);
+
+        // 사전 검사는 jjwt 가 허용하는 토큰을 거부하지 않는다.
+        if(jjwt != null) {
+            assertEquals(TokenPrecheck.Result.VALID, TokenPrecheck.check(token), "precheck");
+        }
+
+        switch (expect) {
+            case ACCEPTED:
+                assertNotNull(jjwt, "jjwt");
+                assertEquals(jjwt, hmac, "hmac");
+                break;
+            case ACCEPTED_BY_JJWT_ONLY:
+                assertNotNull(jjwt, "jjwt");
+                assertNull(hmac, "hmac");
+                break;
+            default:
+                assertNull(jjwt, "jjwt");
+                assertNull(hmac, "hmac");
+        }
+    }
+
+    private static KeyRing keyRing() {
+
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.getJwt().setDefaultKid("main");
+        properties.getJwt().getKeys().put("main", Base64.getEncoder().encodeToString(KEY));
+        properties.getJwt().getKeys().put("short", Base64.getEncoder().encodeToString(SHORT_KEY));
+
+        return new KeyRing(properties);
+    }
+
+    private static String sign(String header, String payload, byte[] key) {
+        return signRaw(header, payload.getBytes(StandardCharsets.UTF_8), key);
+    }
+
+    private static String signRaw(String header, byte[] payload, byte[] key) {
+        return signInput(encode(header) + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(payload), header, key);
+    }
+
+    /**
+     * padding 을 포함한 payload 에 서명한다.
+     */
+    private static String signPadded(String header, String payload, byte[] key) {
+
+        byte[] bytes = (payload.length() % 3 == 0 ? payload + " " : payload).getBytes(StandardCharsets.UTF_8);
+
+        return signInput(encode(header) + "." + Base64.getUrlEncoder().encodeToString(bytes), header, key);
+    }
+
+    private static String signInput(String signingInput, String header, byte[] key) {
+
+        String alg = header.substring(header.indexOf("HS") + 2, header.indexOf("HS") + 5);
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA" + alg);
+            mac.init(new SecretKeySpec(key, "HmacSHA" + alg));
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String replaceHeader(String token, String header) {
+        return encode(header) + token.substring(token.indexOf('.'));
+    }
+
+    private static String tamper(String token, int index) {
+
+        char c = token.charAt(index);
+
+        return token.substring(0, index) + (c == 'A' ? 'B' : 'A') + token.substring(index + 1);
+    }
+
+    /**
+     * index 위치 문자를 하위 8비트가 같은 비 ASCII 문자로 바꾼다.
+     */
+    private static String widen(String token, int index) {
+        return token.substring(0, index) + (char) (token.charAt(index) + 0x100) + token.substring(index + 1);
+    }
+
+    private static byte[] deflate(String payload) {
+
+        Deflater deflater = new Deflater();
+        deflater.setInput(payload.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[256];
+
+        while(!deflater.finished()) {
+            output.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        deflater.end();
+
+        return output.toByteArray();
+    }
+
+    private static byte[] bytes(int length, int seed) {
+
+        byte[] bytes = new byte[length];
+
+        for(int i = 0; i < length; i++) {
+            bytes[i] = (byte) (seed * 31 + i * 17);
+        }
+
+        return bytes;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+class CachingRedisServiceTest {
+
+    private final OffHeapRedisService delegate = newDelegate();
+    private final CachingRedisService service = new CachingRedisService(delegate, null, new AuthorizationProperties.NearCache());
+
+    @AfterEach
+    void close() {
+        delegate.close();
+    }
+
+    /**
+     * serverCode 가 없는 항목은 FORBIDDEN 으로 답하고 나머지 항목은 조회/캐시한다.
+     */
+    @Test
+    void checkSessionsWithoutServerCode() {
+
+        delegate.setSession("a", SessionValue.of(1L, Arrays.asList("SVC0")), Duration.ofMinutes(1));
+        delegate.setSession("b", SessionValue.of(1L, Arrays.asList("SVC1")), Duration.ofMinutes(1));
+
+        assertEquals(Arrays.asList(SessionStatus.AUTHORIZED, SessionStatus.FORBIDDEN, SessionStatus.FORBIDDEN, SessionStatus.NOT_FOUND),
+                service.checkSessions(Arrays.asList("a", "b", "missing", "missing"), Arrays.asList("SVC0", null, null, "SVC0")));
+        assertEquals(SessionStatus.FORBIDDEN, service.checkSession("a", null));
+
+        // 조회한 결과는 캐시에서 답한다.
+        delegate.delete("a");
+
+        assertEquals(Arrays.asList(SessionStatus.FORBIDDEN, SessionStatus.AUTHORIZED),
+                service.checkSessions(Arrays.asList("a", "a"), Arrays.asList(null, "SVC0")));
+    }
+
+    private static OffHeapRedisService newDelegate() {
+
+        AuthorizationProperties.LocalStore properties = new AuthorizationProperties.LocalStore();
+        properties.setMaxMemory(DataSize.ofMegabytes(4));
+        properties.setSegments(1);
+
+        return new OffHeapRedisService(properties);
+    }
+
+}
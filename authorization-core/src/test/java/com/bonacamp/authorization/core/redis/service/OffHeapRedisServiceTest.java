@@ -0,0 +1,208 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.bonacamp.authorization.core.configuration.AuthorizationProperties;
+import com.bonacamp.authorization.core.redis.codec.SessionValue;
+
+class OffHeapRedisServiceTest {
+
+    private OffHeapRedisService service;
+
+    @AfterEach
+    void close() {
+
+        if(service != null) {
+            service.close();
+        }
+    }
+
+    @Test
+    void putGetOverwriteDelete() {
+
+        service = newService(DataSize.ofMegabytes(16), 4);
+
+        service.setValue("a", "v1", Duration.ofMinutes(1));
+        assertEquals("v1", service.getValue("a"));
+        assertTrue(service.hasKey("a"));
+
+        service.setValue("a", "a much longer value than before", Duration.ofMinutes(1));
+        assertEquals("a much longer value than before", service.getValue("a"));
+        assertEquals(1, service.size());
+
+        service.delete("a");
+        assertNull(service.getValue("a"));
+        assertFalse(service.hasKey("a"));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void checkSession() {
+
+        service = newService(DataSize.ofMegabytes(16), 4);
+        service.setSession("token", SessionValue.of(1L, Arrays.asList("SVC0", "SVC1")), Duration.ofMinutes(1));
+        service.setValue("legacy", "[{\"serverCode\":\"SVC0\"}]", Duration.ofMinutes(1));
+
+        assertEquals(SessionStatus.AUTHORIZED, service.checkSession("token", "SVC1"));
+        assertEquals(SessionStatus.FORBIDDEN, service.checkSession("token", "SVC2"));
+        assertEquals(SessionStatus.NOT_FOUND, service.checkSession("missing", "SVC0"));
+        assertEquals(SessionStatus.AUTHORIZED, service.checkSession("legacy", "SVC0"));
+        assertEquals(Arrays.asList(SessionStatus.AUTHORIZED, SessionStatus.NOT_FOUND),
+                service.checkSessions(Arrays.asList("token", "missing"), Arrays.asList("SVC0", "SVC0")));
+    }
+
+    @Test
+    void expireFollowsRedisSemantics() throws InterruptedException {
+
+        service = newService(DataSize.ofMegabytes(16), 4);
+        service.setValue("a", "v", Duration.ofMillis(50));
+        service.setValue("b", "v", Duration.ofMinutes(1));
+
+        service.expire("a", 60_000);
+        service.expire("b", 0);
+
+        Thread.sleep(100);
+        service.expireEntries();
+
+        assertEquals("v", service.getValue("a"));
+        assertNull(service.getValue("b"));
+
+        service.expire("a", 1);
+        Thread.sleep(20);
+        service.expireEntries();
+
+        assertNull(service.getValue("a"));
+        assertEquals(0, service.size());
+        assertThrows(IllegalArgumentException.class, () -> service.setValue("c", "v", Duration.ZERO));
+    }
+
+    @Test
+    void expireAllOnlyExtends() throws InterruptedException {
+
+        service = newService(DataSize.ofMegabytes(16), 4);
+        service.setValue("short", "v", Duration.ofMillis(30));
+        service.setValue("long", "v", Duration.ofMinutes(10));
+
+        service.expireAll(Arrays.asList("short", "long", "missing"), 60_000);
+
+        Thread.sleep(50);
+        assertEquals("v", service.getValue("short"));
+        assertFalse(service.hasKey("missing"));
+
+        service.expire("long", 200);
+        service.expireAll(Arrays.asList("long"), 10);
+        Thread.sleep(50);
+        assertEquals("v", service.getValue("long"));
+    }
+
+    @Test
+    void fullStoreThrows() {
+
+        service = newService(DataSize.ofMegabytes(1), 1);
+        char[] value = new char[8_000];
+        Arrays.fill(value, 'x');
+
+        assertThrows(IllegalStateException.class, () -> {
+            for(int i = 0; i < 1_000; i++) {
+                service.setValue("key" + i, new String(value), Duration.ofMinutes(1));
+            }
+        });
+
+        service.delete("key0");
+        service.setValue("key0", new String(value), Duration.ofMinutes(1));
+    }
+
+    /**
+     * 스레드별 키는 마지막으로 쓴 값이 보여야 하고, 공유 키는 어떤 스레드의 값이든 온전한 값이어야 한다.
+     */
+    @Test
+    void concurrentAccess() throws Exception {
+
+        service = newService(DataSize.ofMegabytes(64), 4);
+
+        int threads = 8;
+        int operations = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for(int t = 0; t < threads; t++) {
+
+            int thread = t;
+
+            futures.add(executor.submit(() -> {
+
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for(int i = 0; i < operations; i++) {
+
+                    String own = "own:" + thread + ":" + random.nextInt(100);
+                    String value = own + "=" + i + "x".repeat(random.nextInt(200));
+                    service.setValue(own, value, Duration.ofMinutes(1));
+                    assertEquals(value, service.getValue(own));
+
+                    String shared = "shared:" + random.nextInt(50);
+
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            service.setValue(shared, shared + "=" + thread + "x".repeat(random.nextInt(500)), Duration.ofMinutes(1));
+                            break;
+                        case 1:
+                            service.delete(shared);
+                            break;
+                        default:
+                            Object read = service.getValue(shared);
+                            assertTrue(read == null || ((String) read).startsWith(shared + "="), String.valueOf(read));
+                    }
+
+                    if(i % 1_000 == 0) {
+                        service.expireEntries();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for(Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        executor.shutdown();
+
+        assertTrue(service.size() <= threads * 100 + 50);
+    }
+
+    private static OffHeapRedisService newService(DataSize maxMemory, int segments) {
+
+        AuthorizationProperties.LocalStore properties = new AuthorizationProperties.LocalStore();
+        properties.setMaxMemory(maxMemory);
+        properties.setSegments(segments);
+        properties.setTick(Duration.ofMillis(10));
+
+        return new OffHeapRedisService(properties);
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.bonacamp.authorization.core.redis.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OffHeapSegmentTest {
+
+    private static final long MAX_BYTES = 4L << 20;
+    private static final long TICK = 1;
+
+    @Test
+    void putGetOverwriteDelete() {
+
+        OffHeapSegment segment = new OffHeapSegment(MAX_BYTES, TICK, 0);
+        byte[] key = bytes("session:a");
+
+        assertNull(segment.get(hash(key), key, 0));
+        assertTrue(segment.put(hash(key), key, bytes("v1"), 1_000));
+        assertArrayEquals(bytes("v1"), segment.get(hash(key), key, 0));
+
+        // 같은 크기 블록 덮어쓰기와 더 큰 블록으로 옮기는 덮어쓰기
+        assertTrue(segment.put(hash(key), key, bytes("v2"), 1_000));
+        assertArrayEquals(bytes("v2"), segment.get(hash(key), key, 0));
+        assertTrue(segment.put(hash(key), key, new byte[500], 1_000));
+        assertArrayEquals(new byte[500], segment.get(hash(key), key, 0));
+        assertEquals(1, segment.size());
+
+        assertTrue(segment.remove(hash(key), key));
+        assertFalse(segment.remove(hash(key), key));
+        assertNull(segment.get(hash(key), key, 0));
+        assertEquals(0, segment.size());
+    }
+
+    @Test
+    void collidingHashesAreKeptApart() {
+
+        OffHeapSegment segment = new OffHeapSegment(MAX_BYTES, TICK, 0);
+
+        for(int i = 0; i < 100; i++) {
+            byte[] key = bytes("key" + i);
+            assertTrue(segment.put(7, key, bytes("value" + i), 1_000));
+        }
+
+        for(int i = 0; i < 100; i += 2) {
+            assertTrue(segment.remove(7, bytes("key" + i)));
+        }
+
+        for(int i = 0; i < 100; i++) {
+            byte[] value = segment.get(7, bytes("key" + i), 0);
+
+            if(i % 2 == 0) {
+                assertNull(value);
+            }
+            else {
+                assertArrayEquals(bytes("value" + i), value);
+            }
+        }
+    }
+
+    @Test
+    void getAndExpireFollowExpireAt() {
+
+        OffHeapSegment segment = new OffHeapSegment(MAX_BYTES, TICK, 0);
+        byte[] key = bytes("session:a");
+
+        segment.put(hash(key), key, bytes("v"), 100);
+
+        assertTrue(segment.contains(hash(key), key, 100));
+        assertFalse(segment.contains(hash(key), key, 101));
+        assertFalse(segment.expire(hash(key), key, 1_000, 101));
+
+        segment.put(hash(key), key, bytes("v"), 100);
+
+        assertTrue(segment.expire(hash(key), key, 1_000, 50));
+        assertTrue(segment.contains(hash(key), key, 500));
+    }
+
+    /**
+     * 타이밍 휠 각 단계(64^level 틱)에 들어가는 만료 시각이 정확히 회수되는지 확인한다.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = { 1, 63, 64, 100, 4_095, 4_096, 5_000, 262_144, 300_000, 16_777_216 + 17 })
+    void advanceReclaimsEntriesAcrossWheelLevels(long expireAt) {
+
+        OffHeapSegment segment = new OffHeapSegment(MAX_BYTES, TICK, 0);
+        byte[] key = bytes("session:a");
+        byte[] other = bytes("session:b");
+
+        segment.put(hash(key), key, bytes("v"), expireAt);
+        segment.put(hash(other), other, bytes("v"), expireAt * 2 + 10);
+
+        segment.advance(expireAt);
+        assertEquals(2, segment.size());
+
+        segment.advance(expireAt + 1);
+        assertEquals(1, segment.size());
+        assertTrue(segment.contains(hash(other), other, expireAt + 1));
+    }
+
+    @Test
+    void expireMovesEntryBetweenWheelLevels() {
+
+        OffHeapSegment segment = new OffHeapSegment(MAX_BYTES, TICK, 0);
+        byte[] key = bytes("session:a");
+
+        segment.put(hash(key), key, bytes("v"), 10);
+        segment.expire(hash(key), key, 10_000, 5);
+
+        segment.advance(9_999);
+        assertEquals(1, segment.size());
+
+        segment.expire(hash(key), key, 10_050, 9_999);
+        segment.advance(10_001);
+        assertEquals(1, segment.size());
+
+        segment.advance(10_051);
+        assertEquals(0, segment.size());
+    }
+
+    @Test
+    void fullStoreRejectsPutAndReusesFreedBlocks() {
+
+        OffHeapSegment segment = new OffHeapSegment(1L << 20, TICK, 0);
+        byte[] value = new byte[4_000];
+        int stored = 0;
+
+        while(segment.put(hash(bytes("key" + stored)), bytes("key" + stored), value, 1_000)) {
+            stored++;
+        }
+
+        assertTrue(stored > 0);
+        assertEquals(stored, segment.size());
+        assertEquals(1L << 20, segment.allocatedBytes() - indexBytes(segment));
+
+        byte[] first = bytes("key0");
+        assertTrue(segment.remove(hash(first), first));
+        assertTrue(segment.put(hash(first), first, value, 1_000));
+
+        byte[] overflow = bytes("overflow");
+        assertFalse(segment.put(hash(overflow), overflow, value, 1_000));
+
+        // 만료로 회수된 공간도 다시 사용한다.
+        segment.advance(1_001);
+        assertEquals(0, segment.size());
+        assertTrue(segment.put(hash(overflow), overflow, value, 2_000));
+    }
+
+    /**
+     * 임의 연산을 HashMap 모델과 비교한다.
+     */
+    @Test
+    void matchesModelUnderRandomOperations() {
+
+        OffHeapSegment segment = new OffHeapSegment(MAX_BYTES, TICK, 0);
+        Map<String, Entry> model = new HashMap<>();
+        Random random = new Random(42);
+        long now = 0;
+
+        for(int i = 0; i < 200_000; i++) {
+
+            String key = "key" + random.nextInt(2_000);
+            byte[] rawKey = bytes(key);
+            int operation = random.nextInt(10);
+
+            if(operation < 4) {
+                byte[] value = new byte[random.nextInt(300)];
+                random.nextBytes(value);
+                long expireAt = now + 1 + random.nextInt(10_000);
+                assertTrue(segment.put(hash(rawKey), rawKey, value, expireAt));
+                model.put(key, new Entry(value, expireAt));
+            }
+            else if(operation < 5) {
+                segment.remove(hash(rawKey), rawKey);
+                model.remove(key);
+            }
+            else if(operation < 6) {
+                now += random.nextInt(200);
+                segment.advance(now);
+            }
+            else {
+                Entry expected = model.get(key);
+                byte[] actual = segment.get(hash(rawKey), rawKey, now);
+
+                if(expected == null || expected.expireAt < now) {
+                    assertNull(actual, key);
+                }
+                else {
+                    assertArrayEquals(expected.value, actual, key);
+                }
+            }
+        }
+
+        long end = now + 1;
+        long live = model.values().stream().filter(entry -> entry.expireAt >= end).count();
+        segment.advance(end);
+        assertEquals(live, segment.size());
+    }
+
+    private static long indexBytes(OffHeapSegment segment) {
+        return segment.allocatedBytes() % (1L << 20);
+    }
+
+    private static int hash(byte[] key) {
+        return Arrays.hashCode(key) * 0x9E3779B9;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+
+        private final byte[] value;
+        private final long expireAt;
+
+        private Entry(byte[] value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+}